@@ -0,0 +1,80 @@
+package com.student.studentmanagementsystem.benchmark;
+
+import com.student.studentmanagementsystem.dto.StudentResponse;
+import com.student.studentmanagementsystem.dto.SubjectResponse;
+import com.student.studentmanagementsystem.entity.Student;
+import com.student.studentmanagementsystem.entity.Subject;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+// Deterministic fixtures shared by the benchmarks, sized like a production roster
+public final class BenchmarkData {
+
+    public static final int STUDENTS = 100_000;
+    public static final int SUBJECTS = 60;
+    public static final int AVERAGE_SUBJECTS_PER_STUDENT = 6;
+
+    private static final long SEED = 42L;
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private BenchmarkData() {}
+
+    public static List<Subject> subjects(int count) {
+        List<Subject> subjects = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Subject subject = new Subject("Subject " + i, "Description of subject " + i, 1 + i % 5);
+            subject.setId((long) i);
+            subject.setCreatedAt(NOW);
+            subject.setUpdatedAt(NOW);
+            subjects.add(subject);
+        }
+        return subjects;
+    }
+
+    public static List<Student> students(int count, List<Subject> subjects) {
+        Random random = new Random(SEED);
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Student student = new Student("First" + i, "Last" + i, "student" + i + "@example.com", "555" + i);
+            student.setId((long) i);
+            student.setCreatedAt(NOW);
+            student.setUpdatedAt(NOW);
+            for (int subjectIndex : subjectIndexes(random, subjects.size())) {
+                student.getSubjects().add(subjects.get(subjectIndex));
+            }
+            students.add(student);
+        }
+        return students;
+    }
+
+    public static List<StudentResponse> studentResponses(int count, List<Subject> subjects) {
+        List<StudentResponse> responses = new ArrayList<>(count);
+        for (Student student : students(count, subjects)) {
+            StudentResponse response = new StudentResponse(student.getId(), student.getFirstName(),
+                    student.getLastName(), student.getEmail(), student.getPhoneNumber(),
+                    student.getCreatedAt(), student.getUpdatedAt());
+            Set<SubjectResponse> subjectResponses = new LinkedHashSet<>();
+            for (Subject subject : student.getSubjects()) {
+                subjectResponses.add(new SubjectResponse(subject.getId(), subject.getName(),
+                        subject.getDescription(), subject.getCredits(), subject.getCreatedAt(), subject.getUpdatedAt()));
+            }
+            response.setSubjects(subjectResponses);
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    // Between 3 and 9 distinct subjects per student, 6 on average
+    static Set<Integer> subjectIndexes(Random random, int subjectCount) {
+        int wanted = AVERAGE_SUBJECTS_PER_STUDENT - 3 + random.nextInt(7);
+        Set<Integer> indexes = new LinkedHashSet<>();
+        while (indexes.size() < Math.min(wanted, subjectCount)) {
+            indexes.add(random.nextInt(subjectCount));
+        }
+        return indexes;
+    }
+}
@@ -0,0 +1,109 @@
+package com.student.studentmanagementsystem.benchmark;
+
+import com.student.studentmanagementsystem.StudentManagementSystemApplication;
+import com.student.studentmanagementsystem.dto.StudentRequest;
+import com.student.studentmanagementsystem.service.StudentService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Load over HTTP with more concurrent clients than pooled connections, with and without the database
+// concurrency limiter (db-concurrency-limit profile). The sample mode reports the latency percentiles;
+// non-2xx answers, such as a 503 from the limiter, are counted as failures.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(1)
+public class ConcurrencyLimiterBenchmark {
+
+    private static final int STUDENTS = 1_000;
+
+    @Param({"false", "true"})
+    private boolean limited;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private List<Long> studentIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(StudentManagementSystemApplication.class)
+                .profiles(limited ? new String[]{"benchmark", "db-concurrency-limit"} : new String[]{"benchmark"})
+                .properties("server.port=0", "spring.datasource.hikari.maximum-pool-size=10")
+                .run();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+        client = HttpClient.newHttpClient();
+
+        StudentService studentService = context.getBean(StudentService.class);
+        studentIds = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            studentIds.add(studentService.createStudent(
+                    new StudentRequest("Load" + i, "Student", "load" + i + "@example.com", "1234567890")).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // A database-backed read, the kind of request the limiter queues
+    @Benchmark
+    public int getStudent(Failures failures) throws IOException, InterruptedException {
+        Long id = studentIds.get(ThreadLocalRandom.current().nextInt(studentIds.size()));
+        return failures.record(get("/students/" + id));
+    }
+
+    // Served from the subject cache, passes the limiter without a permit
+    @Benchmark
+    public int getSubjects(Failures failures) throws IOException, InterruptedException {
+        return failures.record(get("/subjects"));
+    }
+
+    private int get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    // Reported as the secondary "failed" result next to each benchmark
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Failures {
+
+        public long failed;
+
+        int record(int status) {
+            if (status >= 300) {
+                failed++;
+            }
+            return status;
+        }
+    }
+}
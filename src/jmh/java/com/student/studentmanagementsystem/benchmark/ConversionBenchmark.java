@@ -0,0 +1,47 @@
+package com.student.studentmanagementsystem.benchmark;
+
+import com.student.studentmanagementsystem.dto.StudentResponse;
+import com.student.studentmanagementsystem.entity.Student;
+import com.student.studentmanagementsystem.service.ResponseMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity to DTO conversion of one page of students with their subjects
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConversionBenchmark {
+
+    @Param({"50", "500"})
+    private int pageSize;
+
+    private List<Student> students;
+
+    @Setup
+    public void setUp() {
+        students = BenchmarkData.students(pageSize, BenchmarkData.subjects(BenchmarkData.SUBJECTS));
+    }
+
+    @Benchmark
+    public void convertStudentsWithSubjects(Blackhole blackhole) {
+        for (Student student : students) {
+            StudentResponse response = ResponseMapper.toStudentResponseWithSubjects(student);
+            blackhole.consume(response);
+        }
+    }
+}
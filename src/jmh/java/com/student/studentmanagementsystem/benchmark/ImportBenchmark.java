@@ -0,0 +1,102 @@
+package com.student.studentmanagementsystem.benchmark;
+
+import com.student.studentmanagementsystem.StudentManagementSystemApplication;
+import com.student.studentmanagementsystem.dto.BatchImportResponse;
+import com.student.studentmanagementsystem.dto.StudentRequest;
+import com.student.studentmanagementsystem.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+// Import throughput of the batch endpoint's service path, reported in rows per second, against saving the
+// same rows one request at a time
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ImportBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private StudentService studentService;
+    private JdbcTemplate jdbcTemplate;
+    // Emails stay unique across invocations, every row is a real insert
+    private long nextRow;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(StudentManagementSystemApplication.class)
+                .profiles("benchmark")
+                .web(WebApplicationType.NONE)
+                .run();
+        studentService = context.getBean(StudentService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    // Start every iteration from empty tables so the table size does not drift across the run
+    @TearDown(Level.Iteration)
+    public void clear() {
+        jdbcTemplate.update("DELETE FROM students");
+        jdbcTemplate.update("DELETE FROM change_events");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public BatchImportResponse importStudents() {
+        long first = nextRow;
+        nextRow += ROWS;
+        return studentService.importStudents(rows(first));
+    }
+
+    // Baseline: one createStudent call, and so one transaction and insert, per row
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void createStudentsOneByOne(Blackhole blackhole) {
+        long first = nextRow;
+        nextRow += ROWS;
+        rows(first).forEachRemaining(row -> blackhole.consume(studentService.createStudent(row)));
+    }
+
+    // Generated lazily, the way the endpoint streams its request body
+    private Iterator<StudentRequest> rows(long first) {
+        return new Iterator<>() {
+            private long row = first;
+
+            @Override
+            public boolean hasNext() {
+                return row < first + ROWS;
+            }
+
+            @Override
+            public StudentRequest next() {
+                long n = row++;
+                return new StudentRequest("First" + n, "Last" + n, "import" + n + "@example.com", "1234567890");
+            }
+        };
+    }
+}
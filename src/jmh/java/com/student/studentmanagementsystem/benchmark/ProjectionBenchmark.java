@@ -0,0 +1,121 @@
+package com.student.studentmanagementsystem.benchmark;
+
+import com.student.studentmanagementsystem.StudentManagementSystemApplication;
+import com.student.studentmanagementsystem.dto.StudentResponse;
+import com.student.studentmanagementsystem.entity.Student;
+import com.student.studentmanagementsystem.repository.StudentRepository;
+import com.student.studentmanagementsystem.service.ResponseMapper;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// DTO projection queries against loading managed entities and mapping them, for the student list and a page.
+// Both sides run in a read-only transaction like the service methods; add -prof gc to compare allocation too
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    private static final int INSERT_BATCH = 5_000;
+
+    @Param({"" + BenchmarkData.STUDENTS})
+    private int students;
+
+    @Param({"50", "500"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private StudentRepository studentRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private long middleId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(StudentManagementSystemApplication.class)
+                .profiles("benchmark")
+                .web(WebApplicationType.NONE)
+                .run();
+        studentRepository = context.getBean(StudentRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        seed(context.getBean(JdbcTemplate.class));
+        middleId = students / 2;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<StudentResponse> allProjected() {
+        return readOnly.execute(status -> studentRepository.findAllResponses());
+    }
+
+    @Benchmark
+    public List<StudentResponse> allEntities() {
+        return readOnly.execute(status -> studentRepository.findAll().stream()
+                .map(ResponseMapper::toStudentResponse)
+                .toList());
+    }
+
+    @Benchmark
+    public List<StudentResponse> pageProjected() {
+        return readOnly.execute(status -> studentRepository.findResponsesAfter(middleId, Limit.of(pageSize + 1)));
+    }
+
+    // The entity query the page used before it was replaced by findResponsesAfter
+    @Benchmark
+    public List<StudentResponse> pageEntities() {
+        return readOnly.execute(status -> entityManager
+                .createQuery("SELECT s FROM Student s WHERE s.id > :cursor ORDER BY s.id", Student.class)
+                .setParameter("cursor", middleId)
+                .setMaxResults(pageSize + 1)
+                .getResultStream()
+                .map(ResponseMapper::toStudentResponse)
+                .toList());
+    }
+
+    // Plain JDBC batches; subjects are not read by either side
+    private void seed(JdbcTemplate jdbcTemplate) {
+        List<Student> roster = BenchmarkData.students(students, List.of());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO students (id, first_name, last_name, email, phone_number, created_at, updated_at, version) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, 0)",
+                roster, INSERT_BATCH, (ps, student) -> {
+                    ps.setLong(1, student.getId());
+                    ps.setString(2, student.getFirstName());
+                    ps.setString(3, student.getLastName());
+                    ps.setString(4, student.getEmail());
+                    ps.setString(5, student.getPhoneNumber());
+                    ps.setTimestamp(6, Timestamp.valueOf(student.getCreatedAt()));
+                    ps.setTimestamp(7, Timestamp.valueOf(student.getUpdatedAt()));
+                });
+    }
+}
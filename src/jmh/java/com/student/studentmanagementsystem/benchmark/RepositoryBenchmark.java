@@ -0,0 +1,140 @@
+package com.student.studentmanagementsystem.benchmark;
+
+import com.student.studentmanagementsystem.StudentManagementSystemApplication;
+import com.student.studentmanagementsystem.dto.CursorPageResponse;
+import com.student.studentmanagementsystem.dto.StudentResponse;
+import com.student.studentmanagementsystem.entity.Student;
+import com.student.studentmanagementsystem.entity.Subject;
+import com.student.studentmanagementsystem.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Service and repository read paths against an in-memory H2 database in MySQL mode
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    private static final int INSERT_BATCH = 5_000;
+
+    @Param({"" + BenchmarkData.STUDENTS})
+    private int students;
+
+    @Param({"50", "500"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private StudentService studentService;
+    private String middleCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(StudentManagementSystemApplication.class)
+                .profiles("benchmark")
+                .web(WebApplicationType.NONE)
+                .run();
+        studentService = context.getBean(StudentService.class);
+        seed(context.getBean(JdbcTemplate.class));
+        middleCursor = CursorPageResponse.encodeCursor((long) students / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPageResponse<StudentResponse> firstPage() {
+        return studentService.getStudentsPage(null, pageSize);
+    }
+
+    @Benchmark
+    public CursorPageResponse<StudentResponse> deepPage() {
+        return studentService.getStudentsPage(middleCursor, pageSize);
+    }
+
+    @Benchmark
+    public CursorPageResponse<StudentResponse> firstPageWithSubjects() {
+        return studentService.getStudentsWithSubjectsPage(null, pageSize);
+    }
+
+    @Benchmark
+    public CursorPageResponse<StudentResponse> deepPageWithSubjects() {
+        return studentService.getStudentsWithSubjectsPage(middleCursor, pageSize);
+    }
+
+    @Benchmark
+    public List<StudentResponse> allStudentsWithSubjects() {
+        return studentService.getAllStudentsWithSubjects();
+    }
+
+    @Benchmark
+    public void exportStudentsWithSubjects(Blackhole blackhole) {
+        studentService.exportStudentsWithSubjects(blackhole::consume);
+    }
+
+    // Plain JDBC batches, going through JPA would make seeding dominate the run
+    private void seed(JdbcTemplate jdbcTemplate) {
+        List<Subject> subjects = BenchmarkData.subjects(BenchmarkData.SUBJECTS);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO subjects (id, name, description, credits, created_at, updated_at, version) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, 0)",
+                subjects, INSERT_BATCH, (ps, subject) -> {
+                    ps.setLong(1, subject.getId());
+                    ps.setString(2, subject.getName());
+                    ps.setString(3, subject.getDescription());
+                    ps.setInt(4, subject.getCredits());
+                    ps.setTimestamp(5, Timestamp.valueOf(subject.getCreatedAt()));
+                    ps.setTimestamp(6, Timestamp.valueOf(subject.getUpdatedAt()));
+                });
+
+        List<Student> roster = BenchmarkData.students(students, subjects);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO students (id, first_name, last_name, email, phone_number, created_at, updated_at, version) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, 0)",
+                roster, INSERT_BATCH, (ps, student) -> {
+                    ps.setLong(1, student.getId());
+                    ps.setString(2, student.getFirstName());
+                    ps.setString(3, student.getLastName());
+                    ps.setString(4, student.getEmail());
+                    ps.setString(5, student.getPhoneNumber());
+                    ps.setTimestamp(6, Timestamp.valueOf(student.getCreatedAt()));
+                    ps.setTimestamp(7, Timestamp.valueOf(student.getUpdatedAt()));
+                });
+
+        List<long[]> pairs = new ArrayList<>();
+        for (Student student : roster) {
+            for (Subject subject : student.getSubjects()) {
+                pairs.add(new long[]{student.getId(), subject.getId()});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO student_subject (student_id, subject_id) VALUES (?, ?)",
+                pairs, INSERT_BATCH, (ps, pair) -> {
+                    ps.setLong(1, pair[0]);
+                    ps.setLong(2, pair[1]);
+                });
+    }
+}
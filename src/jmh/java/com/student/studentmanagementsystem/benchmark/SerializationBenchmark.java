@@ -0,0 +1,47 @@
+package com.student.studentmanagementsystem.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.student.studentmanagementsystem.dto.StudentResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson serialization of StudentResponse lists, as a page body and as a full list
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"50", "500", "100000"})
+    private int students;
+
+    private ObjectMapper objectMapper;
+    private List<StudentResponse> responses;
+
+    @Setup
+    public void setUp() {
+        // Same builder Spring Boot uses for the MVC message converters
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        responses = BenchmarkData.studentResponses(students, BenchmarkData.subjects(BenchmarkData.SUBJECTS));
+    }
+
+    @Benchmark
+    public byte[] writeStudentList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+}
@@ -0,0 +1,80 @@
+package com.student.studentmanagementsystem.cache;
+
+import com.student.studentmanagementsystem.event.ChangeType;
+import com.student.studentmanagementsystem.event.StudentChangedEvent;
+import com.student.studentmanagementsystem.event.SubjectChangedEvent;
+import com.student.studentmanagementsystem.repository.StudentRepository;
+import com.student.studentmanagementsystem.repository.SubjectRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import java.util.Locale;
+
+// Optional Bloom filters of the student emails and subject names in use, enabled by app.known-keys.enabled.
+// The unique constraints decide; these only tell a create or rename whether a pre-check is worth a query.
+// A false answer means the key was never seen, so the insert goes straight to the database.
+@Component
+public class KnownKeys {
+
+    private final StudentRepository studentRepository;
+    private final SubjectRepository subjectRepository;
+    private final boolean enabled;
+    private final BloomFilter emails;
+    private final BloomFilter subjectNames;
+    private volatile boolean ready;
+
+    @Autowired
+    public KnownKeys(StudentRepository studentRepository, SubjectRepository subjectRepository,
+                     @Value("${app.known-keys.enabled:false}") boolean enabled,
+                     @Value("${app.known-keys.expected-students:1000000}") long expectedStudents,
+                     @Value("${app.known-keys.expected-subjects:10000}") long expectedSubjects,
+                     @Value("${app.known-keys.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.studentRepository = studentRepository;
+        this.subjectRepository = subjectRepository;
+        this.enabled = enabled;
+        this.emails = enabled ? new BloomFilter(expectedStudents, falsePositiveRate) : null;
+        this.subjectNames = enabled ? new BloomFilter(expectedSubjects, falsePositiveRate) : null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        studentRepository.findAllEmails().forEach(email -> emails.put(normalize(email)));
+        subjectRepository.findAllNames().forEach(name -> subjectNames.put(normalize(name)));
+        ready = true;
+    }
+
+    // Recorded as soon as the change is made rather than after commit, so a concurrent create of the same key
+    // is sent to the pre-check; keys of rolled back or deleted rows only cost an extra false positive
+    @EventListener
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (enabled && event.getType() != ChangeType.DELETED) {
+            emails.put(normalize(event.getStudent().getEmail()));
+        }
+    }
+
+    @EventListener
+    public void onSubjectChanged(SubjectChangedEvent event) {
+        if (enabled && event.getType() != ChangeType.DELETED) {
+            subjectNames.put(normalize(event.getSubject().getName()));
+        }
+    }
+
+    // Disabled: never worth a pre-check. Enabled but still loading: always worth one
+    public boolean mightHaveEmail(String email) {
+        return enabled && (!ready || emails.mightContain(normalize(email)));
+    }
+
+    public boolean mightHaveSubjectName(String name) {
+        return enabled && (!ready || subjectNames.mightContain(normalize(name)));
+    }
+
+    // The MySQL columns compare case-insensitively, so keys are folded the same way
+    private static String normalize(String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+}
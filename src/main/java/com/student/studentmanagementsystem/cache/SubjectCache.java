@@ -0,0 +1,158 @@
+package com.student.studentmanagementsystem.cache;
+
+import com.student.studentmanagementsystem.dto.SubjectResponse;
+import com.student.studentmanagementsystem.event.SubjectChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// Read-through cache of subjects by id, by name and as one all-subjects snapshot.
+// A reader that loaded before a commit must not leave its stale copy behind the commit's eviction, so every
+// eviction bumps a generation and a read-through put that raced with one is taken back.
+@Component
+public class SubjectCache {
+
+    public static final String BY_ID = "subjectsById";
+    public static final String BY_NAME = "subjectsByName";
+    public static final String ALL = "allSubjects";
+
+    private static final String ALL_KEY = "all";
+    private static final String ALL_BY_ID_KEY = "allById";
+
+    private final Cache byId;
+    private final Cache byName;
+    private final Cache all;
+
+    private final AtomicLong generation = new AtomicLong();
+    // Name key each cached subject was stored under, so a delete can evict it without reading the row
+    private final Map<Long, String> nameKeys = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SubjectCache(CacheManager cacheManager) {
+        this.byId = cacheManager.getCache(BY_ID);
+        this.byName = cacheManager.getCache(BY_NAME);
+        this.all = cacheManager.getCache(ALL);
+    }
+
+    public Optional<SubjectResponse> getById(Long subjectId, Supplier<Optional<SubjectResponse>> loader) {
+        SubjectResponse cached = byId.get(subjectId, SubjectResponse.class);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        // Misses are not cached, a subject created later must be visible right away
+        long token = generation.get();
+        Optional<SubjectResponse> loaded = loader.get();
+        loaded.ifPresent(subject -> putIfCurrent(subject, token));
+        return loaded;
+    }
+
+    // Cached entry only, never goes to the database
+    public Optional<SubjectResponse> peekById(Long subjectId) {
+        return Optional.ofNullable(byId.get(subjectId, SubjectResponse.class));
+    }
+
+    public Optional<SubjectResponse> getByName(String name, Supplier<Optional<SubjectResponse>> loader) {
+        // Names compare case-insensitively in the database, so the key does too
+        SubjectResponse cached = byName.get(nameKey(name), SubjectResponse.class);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long token = generation.get();
+        Optional<SubjectResponse> loaded = loader.get();
+        loaded.ifPresent(subject -> putIfCurrent(subject, token));
+        return loaded;
+    }
+
+    // Snapshot of all subjects ordered by id
+    @SuppressWarnings("unchecked")
+    public List<SubjectResponse> getAll(Supplier<List<SubjectResponse>> loader) {
+        List<SubjectResponse> cached = all.get(ALL_KEY, List.class);
+        if (cached != null) {
+            return cached;
+        }
+        long token = generation.get();
+        List<SubjectResponse> loaded = List.copyOf(loader.get());
+        loaded.forEach(this::put);
+        all.put(ALL_KEY, loaded);
+        if (generation.get() != token) {
+            loaded.forEach(this::evict);
+            all.evict(ALL_KEY);
+        }
+        return loaded;
+    }
+
+    // The same snapshot indexed by id, for stitching subjects onto students
+    @SuppressWarnings("unchecked")
+    public Map<Long, SubjectResponse> getAllById(Supplier<List<SubjectResponse>> loader) {
+        Map<Long, SubjectResponse> cached = all.get(ALL_BY_ID_KEY, Map.class);
+        if (cached != null) {
+            return cached;
+        }
+        long token = generation.get();
+        Map<Long, SubjectResponse> loaded = getAll(loader).stream()
+                .collect(Collectors.toUnmodifiableMap(SubjectResponse::getId, Function.identity()));
+        all.put(ALL_BY_ID_KEY, loaded);
+        if (generation.get() != token) {
+            all.evict(ALL_BY_ID_KEY);
+        }
+        return loaded;
+    }
+
+    // Evict only the entries the change touched, once the change is committed
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSubjectChanged(SubjectChangedEvent event) {
+        // Bump first: a put that has not yet checked its token will now see the change and take itself back
+        generation.incrementAndGet();
+        byId.evict(event.getSubjectId());
+        String cachedName = nameKeys.remove(event.getSubjectId());
+        if (cachedName != null) {
+            byName.evict(cachedName);
+        }
+        if (event.getPreviousName() != null) {
+            byName.evict(nameKey(event.getPreviousName()));
+        }
+        if (event.getSubject() != null) {
+            byName.evict(nameKey(event.getSubject().getName()));
+        }
+        all.evict(ALL_KEY);
+        all.evict(ALL_BY_ID_KEY);
+    }
+
+    // Put, then undo it if an eviction ran since the load began; either the check sees the eviction or the
+    // eviction runs after the put and removes it
+    private void putIfCurrent(SubjectResponse subject, long token) {
+        put(subject);
+        if (generation.get() != token) {
+            evict(subject);
+        }
+    }
+
+    private void put(SubjectResponse subject) {
+        String key = nameKey(subject.getName());
+        nameKeys.put(subject.getId(), key);
+        byId.put(subject.getId(), subject);
+        byName.put(key, subject);
+    }
+
+    private void evict(SubjectResponse subject) {
+        byId.evict(subject.getId());
+        byName.evict(nameKey(subject.getName()));
+    }
+
+    private static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,145 @@
+package com.student.studentmanagementsystem.changefeed;
+
+import com.student.studentmanagementsystem.dto.ChangeEventResponse;
+import com.student.studentmanagementsystem.dto.ChangeFeedResponse;
+import com.student.studentmanagementsystem.dto.CursorPageResponse;
+import com.student.studentmanagementsystem.exception.BusinessLogicException;
+import com.student.studentmanagementsystem.repository.ChangeEventRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Reads the change_events outbox in sequence order, as pages for the since= feed and as pushes to SSE subscribers.
+// Sequences are identity values taken at insert time, so a transaction can commit a lower sequence after a higher
+// one is already visible. Reads stop below the lowest sequence of a still open transaction (OpenSequences), which
+// keeps consumers gap-free for every writer in this process. Entries stamped less than app.change-feed.settle-ms
+// before now are held back as well, for writers outside it. created_at is the commit time, see ChangeFeedWriter.
+@Component
+public class ChangeFeed {
+
+    private final ChangeEventRepository changeEventRepository;
+    private final OpenSequences openSequences;
+    private final long settleMillis;
+    private final long streamTimeoutMillis;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService sender = Executors.newCachedThreadPool(senderThreads());
+
+    @Autowired
+    public ChangeFeed(ChangeEventRepository changeEventRepository,
+                      OpenSequences openSequences,
+                      @Value("${app.change-feed.settle-ms:1000}") long settleMillis,
+                      @Value("${app.change-feed.stream-timeout-ms:1800000}") long streamTimeoutMillis) {
+        this.changeEventRepository = changeEventRepository;
+        this.openSequences = openSequences;
+        this.settleMillis = settleMillis;
+        this.streamTimeoutMillis = streamTimeoutMillis;
+    }
+
+    public ChangeFeedResponse read(long since, int limit) {
+        CursorPageResponse.validatePageSize(limit);
+        if (since < 0) {
+            throw new BusinessLogicException("since must not be negative");
+        }
+        List<ChangeEventResponse> events = fetch(since, limit);
+        long lastSequence = events.isEmpty() ? since : events.get(events.size() - 1).getSequence();
+        return new ChangeFeedResponse(events, lastSequence);
+    }
+
+    // Each event is sent with its sequence as the SSE id, so a reconnecting EventSource resumes via Last-Event-ID
+    public SseEmitter subscribe(long since) {
+        if (since < 0) {
+            throw new BusinessLogicException("since must not be negative");
+        }
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, since);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    // One outbox read per tick serves every idle subscriber, starting from the one furthest behind. Sends run on
+    // the sender pool, one at a time per subscriber, so a slow client holds back only itself
+    @Scheduled(fixedDelayString = "${app.change-feed.poll-ms:1000}")
+    public void push() {
+        List<Subscriber> idle = subscribers.stream().filter(subscriber -> !subscriber.sending.get()).toList();
+        if (idle.isEmpty()) {
+            return;
+        }
+        long from = idle.stream().mapToLong(subscriber -> subscriber.cursor).min().orElse(0L);
+        List<ChangeEventResponse> events = fetch(from, CursorPageResponse.MAX_PAGE_SIZE);
+        if (events.isEmpty()) {
+            return;
+        }
+        for (Subscriber subscriber : idle) {
+            if (subscriber.sending.compareAndSet(false, true)) {
+                sender.execute(() -> {
+                    try {
+                        subscriber.send(events);
+                    } finally {
+                        subscriber.sending.set(false);
+                    }
+                });
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    private List<ChangeEventResponse> fetch(long since, int limit) {
+        return changeEventRepository.findAfter(since, openSequences.readableUpTo(),
+                LocalDateTime.now().minusNanos(settleMillis * 1_000_000), limit);
+    }
+
+    private static CustomizableThreadFactory senderThreads() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("change-feed-sse-");
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private volatile long cursor;
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        private void send(List<ChangeEventResponse> events) {
+            try {
+                for (ChangeEventResponse event : events) {
+                    if (event.getSequence() > cursor) {
+                        emitter.send(SseEmitter.event()
+                                .id(String.valueOf(event.getSequence()))
+                                .name("change")
+                                .data(event));
+                        cursor = event.getSequence();
+                    }
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // Client went away, the emitter is completed and the subscriber dropped
+                subscribers.remove(this);
+                emitter.completeWithError(ex);
+            }
+        }
+    }
+}
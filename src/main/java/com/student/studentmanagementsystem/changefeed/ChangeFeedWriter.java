@@ -0,0 +1,149 @@
+package com.student.studentmanagementsystem.changefeed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.student.studentmanagementsystem.dto.SubjectAssignmentRequest;
+import com.student.studentmanagementsystem.entity.ChangeEvent;
+import com.student.studentmanagementsystem.event.ChangeType;
+import com.student.studentmanagementsystem.event.EnrollmentChangedEvent;
+import com.student.studentmanagementsystem.event.EntityType;
+import com.student.studentmanagementsystem.event.StudentChangedEvent;
+import com.student.studentmanagementsystem.event.SubjectChangedEvent;
+import com.student.studentmanagementsystem.repository.ChangeEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Records every domain event in the change_events outbox. Events are collected for the running transaction
+// and inserted as one batch just before it commits, so the outbox holds exactly the committed changes.
+// created_at is the commit time, which the feed's settle window relies on.
+@Component
+public class ChangeFeedWriter {
+
+    private static final int FLUSH_SIZE = 500;
+
+    private final ChangeEventRepository changeEventRepository;
+    private final OpenSequences openSequences;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ChangeFeedWriter(ChangeEventRepository changeEventRepository, OpenSequences openSequences,
+                            ObjectMapper objectMapper) {
+        this.changeEventRepository = changeEventRepository;
+        this.openSequences = openSequences;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener
+    public void onStudentChanged(StudentChangedEvent event) {
+        append(new ChangeEvent(EntityType.STUDENT, event.getStudentId(), event.getType(), toJson(event.getStudent())));
+    }
+
+    @EventListener
+    public void onSubjectChanged(SubjectChangedEvent event) {
+        append(new ChangeEvent(EntityType.SUBJECT, event.getSubjectId(), event.getType(), toJson(event.getSubject())));
+    }
+
+    @EventListener
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        for (SubjectAssignmentRequest pair : event.getAdded()) {
+            append(new ChangeEvent(EntityType.ENROLLMENT, pair.getStudentId(), ChangeType.CREATED, toJson(pair)));
+        }
+        for (SubjectAssignmentRequest pair : event.getRemoved()) {
+            append(new ChangeEvent(EntityType.ENROLLMENT, pair.getStudentId(), ChangeType.DELETED, toJson(pair)));
+        }
+    }
+
+    private void append(ChangeEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            OpenSequences.Bound bound = openSequences.open();
+            try {
+                openSequences.allocated(bound, changeEventRepository.insertAll(List.of(event), LocalDateTime.now()));
+            } finally {
+                openSequences.close(bound);
+            }
+            return;
+        }
+
+        PendingEvents pending = (PendingEvents) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingEvents();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(event);
+    }
+
+    // One per transaction. Large transactions such as imports write their events every FLUSH_SIZE rows with a
+    // placeholder created_at, keeping only the sequence ranges, and stamp them all with the commit time at the end.
+    // From its first insert until it completes the transaction holds the feed's low-water mark at its first sequence
+    private final class PendingEvents implements TransactionSynchronization {
+
+        private final List<ChangeEvent> buffer = new ArrayList<>();
+        private final List<long[]> flushedRanges = new ArrayList<>();
+        private OpenSequences.Bound bound;
+
+        private void add(ChangeEvent event) {
+            buffer.add(event);
+            if (buffer.size() >= FLUSH_SIZE) {
+                open();
+                List<Long> sequences = changeEventRepository.insertUnsettled(buffer);
+                openSequences.allocated(bound, sequences);
+                for (long sequence : sequences) {
+                    long[] last = flushedRanges.isEmpty() ? null : flushedRanges.get(flushedRanges.size() - 1);
+                    if (last != null && last[1] + 1 == sequence) {
+                        last[1] = sequence;
+                    } else {
+                        flushedRanges.add(new long[]{sequence, sequence});
+                    }
+                }
+                buffer.clear();
+            }
+        }
+
+        // Registered before the insert, so no reader can pass a sequence this transaction is about to take
+        private void open() {
+            if (bound == null) {
+                bound = openSequences.open();
+            }
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            LocalDateTime committedAt = LocalDateTime.now();
+            if (!flushedRanges.isEmpty()) {
+                changeEventRepository.settle(flushedRanges, committedAt);
+            }
+            if (!buffer.isEmpty()) {
+                open();
+                openSequences.allocated(bound, changeEventRepository.insertAll(buffer, committedAt));
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ChangeFeedWriter.this);
+            if (bound != null) {
+                openSequences.close(bound);
+            }
+        }
+    }
+
+    private String toJson(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.student.studentmanagementsystem.changefeed;
+
+import com.student.studentmanagementsystem.repository.ChangeEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Low-water mark of the change feed. Every transaction that writes outbox rows registers the lowest sequence it
+// may still commit before its first insert and drops it once it completes. Readers stop below the lowest open
+// sequence, so a transaction that commits a low sequence late (e.g. a long import) is never overtaken by the
+// cursor of a consumer that already read higher sequences of transactions that committed first.
+@Component
+@DependsOn("entityManagerFactory") // seeded from change_events, which the schema generation creates
+public class OpenSequences {
+
+    // Highest sequence known to be allocated; anything allocated later is above it
+    private final AtomicLong highestAllocated;
+    private final Set<Bound> open = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public OpenSequences(ChangeEventRepository changeEventRepository) {
+        this.highestAllocated = new AtomicLong(changeEventRepository.maxSequence());
+    }
+
+    // Before a transaction's first insert: its sequences will all be above what is allocated so far
+    public Bound open() {
+        Bound bound = new Bound(highestAllocated.get() + 1);
+        open.add(bound);
+        return bound;
+    }
+
+    public void allocated(Bound bound, List<Long> sequences) {
+        if (sequences.isEmpty()) {
+            return;
+        }
+        long lowest = sequences.stream().mapToLong(Long::longValue).min().getAsLong();
+        long highest = sequences.stream().mapToLong(Long::longValue).max().getAsLong();
+        if (!bound.exact) {
+            bound.lowest = lowest;
+            bound.exact = true;
+        }
+        highestAllocated.accumulateAndGet(highest, Math::max);
+    }
+
+    public void close(Bound bound) {
+        open.remove(bound);
+    }
+
+    // Highest sequence a reader may return. The allocation high mark is read first: every sequence up to it was
+    // registered before this call, so it is either still open here or already committed for the query that follows
+    public long readableUpTo() {
+        long highest = highestAllocated.get();
+        long lowestOpen = open.stream().mapToLong(bound -> bound.lowest).min().orElse(Long.MAX_VALUE);
+        return Math.min(highest, lowestOpen - 1);
+    }
+
+    public static final class Bound {
+
+        // Starts as a lower bound, raised to the transaction's first sequence once it is known
+        private volatile long lowest;
+        private boolean exact;
+
+        private Bound(long lowest) {
+            this.lowest = lowest;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.student.studentmanagementsystem.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Enables the Spring Boot cache manager configured by the spring.cache.* properties
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
@@ -0,0 +1,36 @@
+package com.student.studentmanagementsystem.config;
+
+import com.student.studentmanagementsystem.web.DatabaseConcurrencyLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Bounds concurrent API requests that need a connection to the pool size, enabled by the db-concurrency-limit profile
+@Configuration
+@ConditionalOnProperty(name = "app.db-concurrency.enabled", havingValue = "true")
+public class ConcurrencyConfig implements WebMvcConfigurer {
+
+    private final int permits;
+    private final long maxWaitMillis;
+
+    public ConcurrencyConfig(
+            @Value("${app.db-concurrency.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+            @Value("${app.db-concurrency.max-wait-ms:5000}") long maxWaitMillis) {
+        this.permits = permits;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    @Bean
+    public DatabaseConcurrencyLimiter databaseConcurrencyLimiter() {
+        return new DatabaseConcurrencyLimiter(permits, maxWaitMillis);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Handlers marked @InMemoryRead pass straight through, see DatabaseConcurrencyLimiter
+        registry.addInterceptor(databaseConcurrencyLimiter()).addPathPatterns("/api/**");
+    }
+}
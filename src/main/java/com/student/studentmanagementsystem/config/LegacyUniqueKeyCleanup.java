@@ -0,0 +1,56 @@
+package com.student.studentmanagementsystem.config;
+
+import com.student.studentmanagementsystem.entity.Student;
+import com.student.studentmanagementsystem.entity.Subject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Drops the anonymous UK... indexes that @Column(unique = true) created on students.email and subjects.name.
+// ddl-auto=update adds the named constraints next to them but never removes them, and MySQL may then report
+// the old name on a duplicate, which the services would not recognise as a duplicate email or name.
+// MySQL only: other databases here are created from scratch and never had the old indexes.
+@Component
+public class LegacyUniqueKeyCleanup {
+
+    private static final Logger log = LoggerFactory.getLogger(LegacyUniqueKeyCleanup.class);
+
+    // Single-column unique indexes on the column, other than the primary key and the named constraint
+    private static final String LEGACY_INDEXES_SQL = "SELECT index_name FROM information_schema.statistics "
+            + "WHERE table_schema = DATABASE() AND table_name = ? AND non_unique = 0 "
+            + "AND index_name NOT IN ('PRIMARY', ?) "
+            + "GROUP BY index_name HAVING COUNT(*) = 1 AND MAX(column_name) = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public LegacyUniqueKeyCleanup(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void dropLegacyIndexes() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"MySQL".equals(product)) {
+            return;
+        }
+        drop("students", "email", Student.EMAIL_CONSTRAINT);
+        drop("subjects", "name", Subject.NAME_CONSTRAINT);
+    }
+
+    private void drop(String table, String column, String keptConstraint) {
+        List<String> legacy = jdbcTemplate.queryForList(LEGACY_INDEXES_SQL, String.class, table, keptConstraint, column);
+        for (String index : legacy) {
+            log.info("Dropping legacy unique index {} on {}.{}, superseded by {}", index, table, column, keptConstraint);
+            jdbcTemplate.execute("ALTER TABLE " + table + " DROP INDEX `" + index + "`");
+        }
+    }
+}
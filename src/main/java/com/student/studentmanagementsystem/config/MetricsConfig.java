@@ -0,0 +1,56 @@
+package com.student.studentmanagementsystem.config;
+
+import com.student.studentmanagementsystem.metrics.QueryCountingIntegrator;
+import com.student.studentmanagementsystem.metrics.RequestQueryMetricsInterceptor;
+import com.student.studentmanagementsystem.metrics.StatementCountingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import javax.sql.DataSource;
+import java.util.List;
+
+// Per-request SQL statement, entity load and collection initialization metrics for the API
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+
+    // A request budget of 0 disables the over-budget warning
+    public MetricsConfig(MeterRegistry meterRegistry,
+                         @Value("${app.query-budget.max-statements-per-request:0}") int statementBudget) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+    }
+
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingCustomizer() {
+        return properties -> properties.put("hibernate.integrator_provider",
+                (IntegratorProvider) () -> List.of(new QueryCountingIntegrator()));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestQueryMetricsInterceptor(meterRegistry, statementBudget))
+                .addPathPatterns("/api/**");
+    }
+}
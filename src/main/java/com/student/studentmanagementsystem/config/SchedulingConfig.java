@@ -0,0 +1,10 @@
+package com.student.studentmanagementsystem.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Background ticks, such as the change feed pushing new outbox entries to SSE subscribers
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
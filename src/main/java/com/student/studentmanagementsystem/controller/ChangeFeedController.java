@@ -0,0 +1,40 @@
+package com.student.studentmanagementsystem.controller;
+
+import com.student.studentmanagementsystem.changefeed.ChangeFeed;
+import com.student.studentmanagementsystem.dto.ChangeFeedResponse;
+import com.student.studentmanagementsystem.dto.CursorPageResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/changes")
+@CrossOrigin(origins = "*")
+public class ChangeFeedController {
+
+    private final ChangeFeed changeFeed;
+
+    @Autowired
+    public ChangeFeedController(ChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    // get the Student, Subject and enrollment changes committed after the given sequence
+    @GetMapping
+    public ResponseEntity<ChangeFeedResponse> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "" + CursorPageResponse.DEFAULT_PAGE_SIZE) int limit) {
+        ChangeFeedResponse changes = changeFeed.read(since, limit);
+        return ResponseEntity.ok(changes);
+    }
+    // stream changes as Server-Sent Events, resuming after since or the Last-Event-ID of a reconnect
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestParam(required = false) Long since,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        long from = lastEventId != null ? lastEventId : since != null ? since : 0L;
+        return changeFeed.subscribe(from);
+    }
+}
@@ -1,14 +1,30 @@
 package com.student.studentmanagementsystem.controller;
 
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.student.studentmanagementsystem.dto.BatchImportResponse;
+import com.student.studentmanagementsystem.dto.BulkSubjectAssignmentRequest;
+import com.student.studentmanagementsystem.dto.BulkSubjectAssignmentResponse;
+import com.student.studentmanagementsystem.dto.CursorPageResponse;
+import com.student.studentmanagementsystem.dto.EntityTags;
+import com.student.studentmanagementsystem.dto.StudentFilter;
 import com.student.studentmanagementsystem.dto.StudentRequest;
 import com.student.studentmanagementsystem.dto.StudentResponse;
 import com.student.studentmanagementsystem.service.StudentService;
+import com.student.studentmanagementsystem.web.InMemoryRead;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -17,10 +33,12 @@ import java.util.List;
 public class StudentController {
 
     private final StudentService studentService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public StudentController(StudentService studentService) {
+    public StudentController(StudentService studentService, ObjectMapper objectMapper) {
         this.studentService = studentService;
+        this.objectMapper = objectMapper;
     }
 
     // create Student
@@ -29,34 +47,77 @@ public class StudentController {
         StudentResponse createdStudent = studentService.createStudent(studentRequest);
         return ResponseEntity.status(HttpStatus.CREATED).body(createdStudent);
     }
+    // import Students in bulk from a JSON array or newline-delimited JSON, read as a stream
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BatchImportResponse> importStudents(HttpServletRequest request) throws IOException {
+        try (MappingIterator<StudentRequest> studentRequests =
+                     objectMapper.readerFor(StudentRequest.class).readValues(request.getInputStream())) {
+            BatchImportResponse report = studentService.importStudents(studentRequests);
+            return ResponseEntity.ok(report);
+        }
+    }
     // update Student
     @PutMapping("/{id}")
     public ResponseEntity<StudentResponse> updateStudent(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody StudentRequest studentRequest) {
-        StudentResponse updatedStudent = studentService.updateStudent(id, studentRequest);
-        return ResponseEntity.ok(updatedStudent);
+        StudentResponse updatedStudent = studentService.updateStudent(id, studentRequest, ifMatch);
+        return ResponseEntity.ok().eTag(EntityTags.of(updatedStudent)).body(updatedStudent);
     }
-    // get Student by id
+    // get Student by id, answered with 304 and no body when If-None-Match still matches the ETag
     @GetMapping("/{id}")
     public ResponseEntity<StudentResponse> getStudentById(@PathVariable Long id) {
         StudentResponse student = studentService.getStudentById(id);
-        return ResponseEntity.ok(student);
+        return ResponseEntity.ok().eTag(EntityTags.of(student)).body(student);
     }
-    // get all Students with optional subjects
+    // get a page of Students with optional subjects, filters and ordering
+    // revalidated against a table-level ETag first, so an unchanged list answers 304 without reading any rows
     @GetMapping
-    public ResponseEntity<List<StudentResponse>> getAllStudents(
-            @RequestParam(defaultValue = "false") boolean includeSubjects) {
-        List<StudentResponse> students;
+    public ResponseEntity<CursorPageResponse<StudentResponse>> getAllStudents(
+            @RequestParam(defaultValue = "false") boolean includeSubjects,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPageResponse.DEFAULT_PAGE_SIZE) int size,
+            StudentFilter filter,
+            WebRequest webRequest) {
+        String eTag = studentService.getStudentsListTag(includeSubjects);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        CursorPageResponse<StudentResponse> students;
 
-        if (includeSubjects) {
-            students = studentService.getAllStudentsWithSubjects();
+        if (!filter.isUnfiltered()) {
+            students = studentService.findStudents(filter, cursor, size, includeSubjects);
+        } else if (includeSubjects) {
+            students = studentService.getStudentsWithSubjectsPage(cursor, size);
         } else {
-            students = studentService.getAllStudents();
+            students = studentService.getStudentsPage(cursor, size);
         }
 
+        return ResponseEntity.ok().eTag(eTag).body(students);
+    }
+    // search Students by name, email or phone, matching prefixes and tolerating typos
+    @GetMapping("/search")
+    @InMemoryRead
+    public ResponseEntity<List<StudentResponse>> searchStudents(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<StudentResponse> students = studentService.searchStudents(query, limit);
         return ResponseEntity.ok(students);
     }
+    // export all Students with subjects as newline-delimited JSON, one student per line
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportStudents() {
+        StreamingResponseBody body = outputStream -> studentService.exportStudentsWithSubjects(student -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(student));
+                outputStream.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
     // assign subject to student
     @PostMapping("/{studentId}/subjects/{subjectId}")
     public ResponseEntity<StudentResponse> assignSubjectToStudent(
@@ -65,6 +126,29 @@ public class StudentController {
         StudentResponse updatedStudent = studentService.assignSubjectToStudent(studentId, subjectId);
         return ResponseEntity.ok(updatedStudent);
     }
+    // unassign subject from student
+    @DeleteMapping("/{studentId}/subjects/{subjectId}")
+    public ResponseEntity<StudentResponse> unassignSubjectFromStudent(
+            @PathVariable Long studentId,
+            @PathVariable Long subjectId) {
+        StudentResponse updatedStudent = studentService.unassignSubjectFromStudent(studentId, subjectId);
+        return ResponseEntity.ok(updatedStudent);
+    }
+    // replace the student's subjects with the given subject ids, only the difference is written
+    @PutMapping("/{studentId}/subjects")
+    public ResponseEntity<StudentResponse> replaceSubjects(
+            @PathVariable Long studentId,
+            @RequestBody List<Long> subjectIds) {
+        StudentResponse updatedStudent = studentService.replaceSubjects(studentId, subjectIds);
+        return ResponseEntity.ok(updatedStudent);
+    }
+    // assign many subjects at once, as (student, subject) pairs or one subject for many students
+    @PostMapping("/subjects/bulk")
+    public ResponseEntity<BulkSubjectAssignmentResponse> assignSubjectsInBulk(
+            @Valid @RequestBody BulkSubjectAssignmentRequest request) {
+        BulkSubjectAssignmentResponse response = studentService.assignSubjectsInBulk(request);
+        return ResponseEntity.ok(response);
+    }
     // delete Student
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteStudent(@PathVariable Long id) {
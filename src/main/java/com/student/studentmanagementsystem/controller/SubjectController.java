@@ -1,13 +1,22 @@
 package com.student.studentmanagementsystem.controller;
 
+import com.student.studentmanagementsystem.dto.CursorPageResponse;
+import com.student.studentmanagementsystem.dto.EnrollmentQueryResponse;
+import com.student.studentmanagementsystem.dto.EntityTags;
+import com.student.studentmanagementsystem.dto.StudentResponse;
 import com.student.studentmanagementsystem.dto.SubjectRequest;
 import com.student.studentmanagementsystem.dto.SubjectResponse;
+import com.student.studentmanagementsystem.dto.SubjectStatsResponse;
+import com.student.studentmanagementsystem.service.StudentService;
 import com.student.studentmanagementsystem.service.SubjectService;
+import com.student.studentmanagementsystem.web.InMemoryRead;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 
 @RestController
@@ -16,10 +25,12 @@ import java.util.List;
 public class SubjectController {
 
     private final SubjectService subjectService;
+    private final StudentService studentService;
 
     @Autowired
-    public SubjectController(SubjectService subjectService) {
+    public SubjectController(SubjectService subjectService, StudentService studentService) {
         this.subjectService = subjectService;
+        this.studentService = studentService;
     }
     // create Subject
     @PostMapping
@@ -31,21 +42,69 @@ public class SubjectController {
     @PutMapping("/{id}")
     public ResponseEntity<SubjectResponse> updateSubject(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody SubjectRequest subjectRequest) {
-        SubjectResponse updatedSubject = subjectService.updateSubject(id, subjectRequest);
-        return ResponseEntity.ok(updatedSubject);
+        SubjectResponse updatedSubject = subjectService.updateSubject(id, subjectRequest, ifMatch);
+        return ResponseEntity.ok().eTag(EntityTags.of(updatedSubject)).body(updatedSubject);
     }
-    // get Subject by id
+    // get Subject by id, a cache hit with a matching If-None-Match is answered with 304 and never serialized
     @GetMapping("/{id}")
+    @InMemoryRead
     public ResponseEntity<SubjectResponse> getSubjectById(@PathVariable Long id) {
         SubjectResponse subject = subjectService.getSubjectById(id);
+        return ResponseEntity.ok().eTag(EntityTags.of(subject)).body(subject);
+    }
+    // get Subject by name
+    @GetMapping("/by-name/{name}")
+    @InMemoryRead
+    public ResponseEntity<SubjectResponse> getSubjectByName(@PathVariable String name) {
+        SubjectResponse subject = subjectService.getSubjectByName(name);
         return ResponseEntity.ok(subject);
     }
-    // get all Subjects
+    // get a page of Subjects, 304 when If-None-Match still matches the list ETag
     @GetMapping
-    public ResponseEntity<List<SubjectResponse>> getAllSubjects() {
-        List<SubjectResponse> subjects = subjectService.getAllSubjects();
-        return ResponseEntity.ok(subjects);
+    @InMemoryRead
+    public ResponseEntity<CursorPageResponse<SubjectResponse>> getAllSubjects(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPageResponse.DEFAULT_PAGE_SIZE) int size,
+            WebRequest webRequest) {
+        String eTag = subjectService.getSubjectsListTag();
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        CursorPageResponse<SubjectResponse> subjects = subjectService.getSubjectsPage(cursor, size);
+        return ResponseEntity.ok().eTag(eTag).body(subjects);
+    }
+    // count and page the ids of Students matching an expression over Subject ids, e.g. "1 AND 2 AND NOT 3"
+    @GetMapping("/enrollments")
+    public ResponseEntity<EnrollmentQueryResponse> queryEnrollments(
+            @RequestParam("q") String expression,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPageResponse.DEFAULT_PAGE_SIZE) int size) {
+        EnrollmentQueryResponse result = studentService.queryEnrollments(expression, cursor, size);
+        return ResponseEntity.ok(result);
+    }
+    // get a page of the Students enrolled in a Subject, ordered by student id
+    @GetMapping("/{id}/students")
+    public ResponseEntity<CursorPageResponse<StudentResponse>> getSubjectStudents(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPageResponse.DEFAULT_PAGE_SIZE) int size) {
+        CursorPageResponse<StudentResponse> students = studentService.getStudentsOfSubjectPage(id, cursor, size);
+        return ResponseEntity.ok(students);
+    }
+    // get enrollment stats of one Subject
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<SubjectStatsResponse> getSubjectStats(@PathVariable Long id) {
+        SubjectStatsResponse stats = subjectService.getSubjectStats(id);
+        return ResponseEntity.ok(stats);
+    }
+    // get enrollment stats of the given Subjects, or of all Subjects when no ids are given
+    @GetMapping("/stats")
+    public ResponseEntity<List<SubjectStatsResponse>> getSubjectsStats(
+            @RequestParam(required = false) List<Long> ids) {
+        List<SubjectStatsResponse> stats = subjectService.getSubjectStats(ids);
+        return ResponseEntity.ok(stats);
     }
     // delete Subject
     @DeleteMapping("/{id}")
@@ -0,0 +1,60 @@
+package com.student.studentmanagementsystem.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Response DTO with the per-row outcome of a batch student import
+public class BatchImportResponse {
+
+    private int total;
+    private int created;
+    private int failed;
+    private List<BatchImportRowResult> results = new ArrayList<>();
+
+    // Constructors
+    public BatchImportResponse() {}
+
+    // Utility methods
+    public void addResult(BatchImportRowResult result) {
+        results.add(result);
+        total++;
+        if (result.getStatus() == BatchImportRowResult.Status.CREATED) {
+            created++;
+        } else {
+            failed++;
+        }
+    }
+
+    // Getters and Setters
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BatchImportRowResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchImportRowResult> results) {
+        this.results = results;
+    }
+}
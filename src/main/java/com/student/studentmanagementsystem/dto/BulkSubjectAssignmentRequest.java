@@ -0,0 +1,54 @@
+package com.student.studentmanagementsystem.dto;
+
+import jakarta.validation.Valid;
+import java.util.ArrayList;
+import java.util.List;
+
+// Request DTO for assigning many subjects at once, either as explicit
+// (studentId, subjectId) pairs or as one subject for a list of students
+public class BulkSubjectAssignmentRequest {
+
+    @Valid
+    private List<SubjectAssignmentRequest> assignments = new ArrayList<>();
+
+    private Long subjectId;
+
+    private List<Long> studentIds = new ArrayList<>();
+
+    // Constructors
+    public BulkSubjectAssignmentRequest() {}
+
+    public BulkSubjectAssignmentRequest(List<SubjectAssignmentRequest> assignments) {
+        this.assignments = assignments;
+    }
+
+    public BulkSubjectAssignmentRequest(Long subjectId, List<Long> studentIds) {
+        this.subjectId = subjectId;
+        this.studentIds = studentIds;
+    }
+
+    // Getters and Setters
+    public List<SubjectAssignmentRequest> getAssignments() {
+        return assignments;
+    }
+
+    public void setAssignments(List<SubjectAssignmentRequest> assignments) {
+        this.assignments = assignments;
+    }
+
+    public Long getSubjectId() {
+        return subjectId;
+    }
+
+    public void setSubjectId(Long subjectId) {
+        this.subjectId = subjectId;
+    }
+
+    public List<Long> getStudentIds() {
+        return studentIds;
+    }
+
+    public void setStudentIds(List<Long> studentIds) {
+        this.studentIds = studentIds;
+    }
+}
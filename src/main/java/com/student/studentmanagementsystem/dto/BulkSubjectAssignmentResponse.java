@@ -0,0 +1,58 @@
+package com.student.studentmanagementsystem.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Response DTO summarising a bulk subject assignment
+public class BulkSubjectAssignmentResponse {
+
+    private int requested;
+    private int assigned;
+    private List<SubjectAssignmentRequest> duplicates = new ArrayList<>();
+    private List<Long> missingStudentIds = new ArrayList<>();
+    private List<Long> missingSubjectIds = new ArrayList<>();
+
+    // Constructors
+    public BulkSubjectAssignmentResponse() {}
+
+    // Getters and Setters
+    public int getRequested() {
+        return requested;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public int getAssigned() {
+        return assigned;
+    }
+
+    public void setAssigned(int assigned) {
+        this.assigned = assigned;
+    }
+
+    public List<SubjectAssignmentRequest> getDuplicates() {
+        return duplicates;
+    }
+
+    public void setDuplicates(List<SubjectAssignmentRequest> duplicates) {
+        this.duplicates = duplicates;
+    }
+
+    public List<Long> getMissingStudentIds() {
+        return missingStudentIds;
+    }
+
+    public void setMissingStudentIds(List<Long> missingStudentIds) {
+        this.missingStudentIds = missingStudentIds;
+    }
+
+    public List<Long> getMissingSubjectIds() {
+        return missingSubjectIds;
+    }
+
+    public void setMissingSubjectIds(List<Long> missingSubjectIds) {
+        this.missingSubjectIds = missingSubjectIds;
+    }
+}
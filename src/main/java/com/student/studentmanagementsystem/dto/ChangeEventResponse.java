@@ -0,0 +1,80 @@
+package com.student.studentmanagementsystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.student.studentmanagementsystem.event.ChangeType;
+import com.student.studentmanagementsystem.event.EntityType;
+import java.time.LocalDateTime;
+
+// Response DTO for one change-feed entry, the payload is passed through as stored JSON
+public class ChangeEventResponse {
+
+    private Long sequence;
+    private EntityType entityType;
+    private Long entityId;
+    private ChangeType changeType;
+    @JsonRawValue
+    private String payload;
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public ChangeEventResponse() {}
+
+    public ChangeEventResponse(Long sequence, EntityType entityType, Long entityId, ChangeType changeType,
+                               String payload, LocalDateTime createdAt) {
+        this.sequence = sequence;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.changeType = changeType;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
+
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(EntityType entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public void setChangeType(ChangeType changeType) {
+        this.changeType = changeType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
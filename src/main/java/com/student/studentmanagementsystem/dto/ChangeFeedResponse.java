@@ -0,0 +1,35 @@
+package com.student.studentmanagementsystem.dto;
+
+import java.util.List;
+
+// Response DTO for one read of the change feed; pass lastSequence as since to continue
+public class ChangeFeedResponse {
+
+    private List<ChangeEventResponse> events;
+    private long lastSequence;
+
+    // Constructors
+    public ChangeFeedResponse() {}
+
+    public ChangeFeedResponse(List<ChangeEventResponse> events, long lastSequence) {
+        this.events = events;
+        this.lastSequence = lastSequence;
+    }
+
+    // Getters and Setters
+    public List<ChangeEventResponse> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<ChangeEventResponse> events) {
+        this.events = events;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    public void setLastSequence(long lastSequence) {
+        this.lastSequence = lastSequence;
+    }
+}
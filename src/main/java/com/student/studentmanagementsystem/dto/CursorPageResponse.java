@@ -0,0 +1,80 @@
+package com.student.studentmanagementsystem.dto;
+
+import com.student.studentmanagementsystem.exception.BusinessLogicException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+// Response DTO for one page of a keyset (cursor) paginated list
+public class CursorPageResponse<T> {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private List<T> items;
+    private String nextCursor;
+
+    // Constructors
+    public CursorPageResponse() {}
+
+    public CursorPageResponse(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Builds a page from a query that fetched size + 1 rows, the extra row only signals that more pages exist
+    public static <T> CursorPageResponse<T> of(List<T> rows, int size, Function<T, Long> idExtractor) {
+        return withCursor(rows, size, last -> encodeCursor(idExtractor.apply(last)));
+    }
+
+    // Same, for cursors that carry more than the last id
+    public static <T> CursorPageResponse<T> withCursor(List<T> rows, int size, Function<T, String> cursorOf) {
+        if (rows.size() <= size) {
+            return new CursorPageResponse<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        return new CursorPageResponse<>(items, cursorOf.apply(items.get(size - 1)));
+    }
+
+    // Cursor helpers - the cursor is the last id of the previous page, kept opaque to clients
+    public static String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessLogicException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public static void validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BusinessLogicException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
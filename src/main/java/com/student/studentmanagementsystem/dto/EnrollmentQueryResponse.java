@@ -0,0 +1,45 @@
+package com.student.studentmanagementsystem.dto;
+
+import java.util.List;
+
+// Response DTO for an enrollment expression: the total match count and one keyset page of matching student ids
+public class EnrollmentQueryResponse {
+
+    private long count;
+    private List<Long> studentIds;
+    private String nextCursor;
+
+    // Constructors
+    public EnrollmentQueryResponse() {}
+
+    public EnrollmentQueryResponse(long count, List<Long> studentIds, String nextCursor) {
+        this.count = count;
+        this.studentIds = studentIds;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public List<Long> getStudentIds() {
+        return studentIds;
+    }
+
+    public void setStudentIds(List<Long> studentIds) {
+        this.studentIds = studentIds;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
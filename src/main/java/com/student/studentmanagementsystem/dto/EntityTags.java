@@ -0,0 +1,83 @@
+package com.student.studentmanagementsystem.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Objects;
+
+// ETag values derived from entity versions, so a GET can be revalidated without building or serializing the body
+public final class EntityTags {
+
+    private EntityTags() {}
+
+    public static String of(SubjectResponse subject) {
+        if (subject.getVersion() == null) {
+            return null;
+        }
+        return "\"" + subject.getVersion() + "\"";
+    }
+
+    // Assigned subjects are part of the student's representation but not of its version, fold them in too
+    public static String of(StudentResponse student) {
+        if (student.getVersion() == null) {
+            return null;
+        }
+        if (student.getSubjects() == null || student.getSubjects().isEmpty()) {
+            return "\"" + student.getVersion() + "\"";
+        }
+
+        long hash = 1;
+        for (SubjectResponse subject : student.getSubjects().stream()
+                .sorted(Comparator.comparing(SubjectResponse::getId))
+                .toList()) {
+            hash = 31 * hash + subject.getId();
+            hash = 31 * hash + (subject.getVersion() == null ? 0 : subject.getVersion());
+        }
+        return "\"" + student.getVersion() + "-" + Long.toHexString(hash) + "\"";
+    }
+
+    // Weak tag for list responses: their bytes depend on paging and filters, the tag only on the tables behind them
+    public static String ofTables(TableVersion... versions) {
+        StringBuilder tag = new StringBuilder("W/\"");
+        for (TableVersion version : versions) {
+            if (tag.length() > 3) {
+                tag.append('.');
+            }
+            tag.append(version.getRowCount()).append('-');
+            LocalDateTime lastUpdatedAt = version.getLastUpdatedAt();
+            if (lastUpdatedAt != null) {
+                tag.append(Long.toHexString(lastUpdatedAt.toEpochSecond(ZoneOffset.UTC)))
+                        .append(':')
+                        .append(Integer.toHexString(lastUpdatedAt.getNano()));
+            }
+            if (version.getChangeSequence() != null) {
+                tag.append('#').append(Long.toHexString(version.getChangeSequence()));
+            }
+        }
+        return tag.append('"').toString();
+    }
+
+    public static TableVersion versionOf(Collection<SubjectResponse> subjects) {
+        LocalDateTime lastUpdatedAt = subjects.stream()
+                .map(SubjectResponse::getUpdatedAt)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        return new TableVersion(subjects.size(), lastUpdatedAt);
+    }
+
+    // If-Match uses strong comparison: "*" or one of the listed tags, weak W/ tags never match
+    public static boolean matches(String ifMatch, String currentTag) {
+        if (ifMatch == null) {
+            return true;
+        }
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(currentTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,94 @@
+package com.student.studentmanagementsystem.dto;
+
+import com.student.studentmanagementsystem.exception.BusinessLogicException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+// Keyset cursor of the filtered student list. It carries the sort key values of the last row returned, so the
+// next page resumes after those values even if that row was renamed or deleted in between.
+// Id-ordered cursors stay the plain id cursor of CursorPageResponse.
+public class StudentCursor {
+
+    private final StudentSort sort;
+    private final Long id;
+    private final String lastName;
+    private final String firstName;
+    private final LocalDateTime createdAt;
+
+    // Constructors
+    private StudentCursor(StudentSort sort, Long id, String lastName, String firstName, LocalDateTime createdAt) {
+        this.sort = sort;
+        this.id = id;
+        this.lastName = lastName;
+        this.firstName = firstName;
+        this.createdAt = createdAt;
+    }
+
+    public static StudentCursor after(StudentSort sort, StudentResponse last) {
+        return new StudentCursor(sort, last.getId(), last.getLastName(), last.getFirstName(), last.getCreatedAt());
+    }
+
+    public String encode() {
+        return switch (sort) {
+            case ID -> CursorPageResponse.encodeCursor(id);
+            case NAME -> join(sort.name(), String.valueOf(id), lastName, firstName);
+            case CREATED_AT -> join(sort.name(), String.valueOf(id), createdAt.toString());
+        };
+    }
+
+    // Null for the first page; a cursor issued for another ordering is rejected
+    public static StudentCursor decode(String cursor, StudentSort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        if (sort == StudentSort.ID) {
+            return new StudentCursor(sort, CursorPageResponse.decodeCursor(cursor), null, null, null);
+        }
+        try {
+            List<String> parts = Arrays.stream(cursor.split("\\.", -1))
+                    .map(part -> new String(Base64.getUrlDecoder().decode(part), StandardCharsets.UTF_8))
+                    .toList();
+            if (!parts.get(0).equals(sort.name())) {
+                throw new BusinessLogicException("Cursor does not belong to sort " + sort);
+            }
+            Long id = Long.parseLong(parts.get(1));
+            return sort == StudentSort.NAME
+                    ? new StudentCursor(sort, id, parts.get(2), parts.get(3), null)
+                    : new StudentCursor(sort, id, null, null, LocalDateTime.parse(parts.get(2)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new BusinessLogicException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private static String join(String... parts) {
+        return String.join(".", Arrays.stream(parts)
+                .map(part -> Base64.getUrlEncoder().withoutPadding().encodeToString(part.getBytes(StandardCharsets.UTF_8)))
+                .toList());
+    }
+
+    // Getters
+    public StudentSort getSort() {
+        return sort;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
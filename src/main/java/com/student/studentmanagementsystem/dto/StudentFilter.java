@@ -0,0 +1,87 @@
+package com.student.studentmanagementsystem.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import java.time.LocalDateTime;
+
+// Query parameters of the filtered student list, unset fields do not filter
+public class StudentFilter {
+
+    private String lastName;
+    private String firstName;
+    private String emailDomain;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    private Long subjectId;
+    private StudentSort sort = StudentSort.ID;
+
+    // Constructors
+    public StudentFilter() {}
+
+    // True when only the default id ordering is asked for, which the plain keyset query serves
+    public boolean isUnfiltered() {
+        return lastName == null && firstName == null && emailDomain == null && createdFrom == null
+                && createdTo == null && subjectId == null && sort == StudentSort.ID;
+    }
+
+    // Getters and Setters
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getEmailDomain() {
+        return emailDomain;
+    }
+
+    public void setEmailDomain(String emailDomain) {
+        this.emailDomain = emailDomain;
+    }
+
+    public LocalDateTime getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public void setCreatedFrom(LocalDateTime createdFrom) {
+        this.createdFrom = createdFrom;
+    }
+
+    public LocalDateTime getCreatedTo() {
+        return createdTo;
+    }
+
+    public void setCreatedTo(LocalDateTime createdTo) {
+        this.createdTo = createdTo;
+    }
+
+    public Long getSubjectId() {
+        return subjectId;
+    }
+
+    public void setSubjectId(Long subjectId) {
+        this.subjectId = subjectId;
+    }
+
+    public StudentSort getSort() {
+        return sort;
+    }
+
+    public void setSort(StudentSort sort) {
+        this.sort = sort;
+    }
+}
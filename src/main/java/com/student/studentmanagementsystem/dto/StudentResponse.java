@@ -1,5 +1,7 @@
 package com.student.studentmanagementsystem.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.time.LocalDateTime;
 import java.util.Set;
 
@@ -14,6 +16,9 @@ public class StudentResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private Set<SubjectResponse> subjects;
+    // Travels in the ETag header, not in the body
+    @JsonIgnore
+    private Long version;
 
     // Constructors
     public StudentResponse() {}
@@ -93,4 +98,12 @@ public class StudentResponse {
     public void setSubjects(Set<SubjectResponse> subjects) {
         this.subjects = subjects;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
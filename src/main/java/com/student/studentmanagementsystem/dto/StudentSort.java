@@ -0,0 +1,8 @@
+package com.student.studentmanagementsystem.dto;
+
+// Orderings offered by the filtered student list, each ends on id so keyset pages are stable
+public enum StudentSort {
+    ID,
+    NAME,
+    CREATED_AT
+}
@@ -0,0 +1,57 @@
+package com.student.studentmanagementsystem.dto;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.Objects;
+
+// DTO for assigning subject to student
+public class SubjectAssignmentRequest {
+
+    @NotNull(message = "Student id is required")
+    private Long studentId;
+
+    @NotNull(message = "Subject id is required")
+    private Long subjectId;
+
+    // Constructors
+    public SubjectAssignmentRequest() {}
+
+    public SubjectAssignmentRequest(Long studentId, Long subjectId) {
+        this.studentId = studentId;
+        this.subjectId = subjectId;
+    }
+
+    // Getters and Setters
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public Long getSubjectId() {
+        return subjectId;
+    }
+
+    public void setSubjectId(Long subjectId) {
+        this.subjectId = subjectId;
+    }
+
+    // A pair is identified by its two ids, so requests can be de-duplicated in sets
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SubjectAssignmentRequest)) {
+            return false;
+        }
+        SubjectAssignmentRequest that = (SubjectAssignmentRequest) o;
+        return Objects.equals(studentId, that.studentId) && Objects.equals(subjectId, that.subjectId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(studentId, subjectId);
+    }
+}
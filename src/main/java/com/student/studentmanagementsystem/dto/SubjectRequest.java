@@ -54,35 +54,3 @@ public class SubjectRequest {
         this.credits = credits;
     }
 }
-
-// DTO for assigning subject to student
-class SubjectAssignmentRequest {
-
-    private Long studentId;
-    private Long subjectId;
-
-    // Constructors
-    public SubjectAssignmentRequest() {}
-
-    public SubjectAssignmentRequest(Long studentId, Long subjectId) {
-        this.studentId = studentId;
-        this.subjectId = subjectId;
-    }
-
-    // Getters and Setters
-    public Long getStudentId() {
-        return studentId;
-    }
-
-    public void setStudentId(Long studentId) {
-        this.studentId = studentId;
-    }
-
-    public Long getSubjectId() {
-        return subjectId;
-    }
-
-    public void setSubjectId(Long subjectId) {
-        this.subjectId = subjectId;
-    }
-}
\ No newline at end of file
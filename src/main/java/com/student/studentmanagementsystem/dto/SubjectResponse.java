@@ -1,5 +1,7 @@
 package com.student.studentmanagementsystem.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.time.LocalDateTime;
 
 // Response DTO for subject
@@ -11,6 +13,9 @@ public class SubjectResponse {
     private Integer credits;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Travels in the ETag header, not in the body
+    @JsonIgnore
+    private Long version;
 
     // Constructors
     public SubjectResponse() {}
@@ -25,6 +30,12 @@ public class SubjectResponse {
         this.updatedAt = updatedAt;
     }
 
+    public SubjectResponse(Long id, String name, String description, Integer credits,
+                           LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        this(id, name, description, credits, createdAt, updatedAt);
+        this.version = version;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -73,4 +84,12 @@ public class SubjectResponse {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,64 @@
+package com.student.studentmanagementsystem.dto;
+
+// Response DTO with enrollment figures of one subject, computed without loading students
+public class SubjectStatsResponse {
+
+    private Long subjectId;
+    private String name;
+    private Integer credits;
+    private long enrollmentCount;
+    private long totalCredits;
+
+    // Constructors
+    public SubjectStatsResponse() {}
+
+    public SubjectStatsResponse(SubjectResponse subject, long enrollmentCount) {
+        this.subjectId = subject.getId();
+        this.name = subject.getName();
+        this.credits = subject.getCredits();
+        this.enrollmentCount = enrollmentCount;
+        // Credits awarded across all enrolled students
+        this.totalCredits = subject.getCredits() == null ? 0 : enrollmentCount * subject.getCredits();
+    }
+
+    // Getters and Setters
+    public Long getSubjectId() {
+        return subjectId;
+    }
+
+    public void setSubjectId(Long subjectId) {
+        this.subjectId = subjectId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getCredits() {
+        return credits;
+    }
+
+    public void setCredits(Integer credits) {
+        this.credits = credits;
+    }
+
+    public long getEnrollmentCount() {
+        return enrollmentCount;
+    }
+
+    public void setEnrollmentCount(long enrollmentCount) {
+        this.enrollmentCount = enrollmentCount;
+    }
+
+    public long getTotalCredits() {
+        return totalCredits;
+    }
+
+    public void setTotalCredits(long totalCredits) {
+        this.totalCredits = totalCredits;
+    }
+}
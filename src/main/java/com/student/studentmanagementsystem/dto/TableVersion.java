@@ -0,0 +1,51 @@
+package com.student.studentmanagementsystem.dto;
+
+import java.time.LocalDateTime;
+
+// Row count and latest updated_at of a table, changes whenever a row is added, removed or updated
+public class TableVersion {
+
+    private long rowCount;
+    private LocalDateTime lastUpdatedAt;
+    // Latest change feed sequence, when changes the table itself does not record must move the version too
+    private Long changeSequence;
+
+    // Constructors
+    public TableVersion() {}
+
+    public TableVersion(long rowCount, LocalDateTime lastUpdatedAt) {
+        this.rowCount = rowCount;
+        this.lastUpdatedAt = lastUpdatedAt;
+    }
+
+    public TableVersion(long rowCount, LocalDateTime lastUpdatedAt, Long changeSequence) {
+        this.rowCount = rowCount;
+        this.lastUpdatedAt = lastUpdatedAt;
+        this.changeSequence = changeSequence;
+    }
+
+    // Getters and Setters
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public void setRowCount(long rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    public LocalDateTime getLastUpdatedAt() {
+        return lastUpdatedAt;
+    }
+
+    public void setLastUpdatedAt(LocalDateTime lastUpdatedAt) {
+        this.lastUpdatedAt = lastUpdatedAt;
+    }
+
+    public Long getChangeSequence() {
+        return changeSequence;
+    }
+
+    public void setChangeSequence(Long changeSequence) {
+        this.changeSequence = changeSequence;
+    }
+}
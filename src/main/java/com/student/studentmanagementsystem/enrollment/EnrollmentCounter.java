@@ -0,0 +1,91 @@
+package com.student.studentmanagementsystem.enrollment;
+
+import com.student.studentmanagementsystem.dto.SubjectAssignmentRequest;
+import com.student.studentmanagementsystem.event.EnrollmentChangedEvent;
+import com.student.studentmanagementsystem.repository.StudentSubjectRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Enrollment counts per subject. By default every read is a GROUP BY over student_subject; with
+// app.enrollment-counter.enabled the counts are kept in memory, moved by committed enrollment changes
+// and reloaded from the database every refresh interval to correct any drift.
+@Component
+public class EnrollmentCounter {
+
+    private final StudentSubjectRepository studentSubjectRepository;
+    private final boolean enabled;
+    private final long refreshMillis;
+
+    private volatile Map<Long, AtomicLong> counts;
+    private volatile long loadedAt;
+
+    @Autowired
+    public EnrollmentCounter(StudentSubjectRepository studentSubjectRepository,
+                             @Value("${app.enrollment-counter.enabled:false}") boolean enabled,
+                             @Value("${app.enrollment-counter.refresh-ms:300000}") long refreshMillis) {
+        this.studentSubjectRepository = studentSubjectRepository;
+        this.enabled = enabled;
+        this.refreshMillis = refreshMillis;
+    }
+
+    public long countFor(Long subjectId) {
+        return countsFor(List.of(subjectId)).getOrDefault(subjectId, 0L);
+    }
+
+    // Subjects without enrollments map to 0
+    public Map<Long, Long> countsFor(Collection<Long> subjectIds) {
+        Map<Long, Long> result = new HashMap<>();
+        if (!enabled) {
+            Map<Long, Long> counted = studentSubjectRepository.countBySubjectIds(subjectIds);
+            subjectIds.forEach(id -> result.put(id, counted.getOrDefault(id, 0L)));
+            return result;
+        }
+
+        Map<Long, AtomicLong> current = loaded();
+        for (Long subjectId : subjectIds) {
+            AtomicLong count = current.get(subjectId);
+            result.put(subjectId, count == null ? 0L : count.get());
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        Map<Long, AtomicLong> current = counts;
+        if (!enabled || current == null) {
+            return;
+        }
+        for (SubjectAssignmentRequest pair : event.getAdded()) {
+            current.computeIfAbsent(pair.getSubjectId(), id -> new AtomicLong()).incrementAndGet();
+        }
+        for (SubjectAssignmentRequest pair : event.getRemoved()) {
+            current.computeIfAbsent(pair.getSubjectId(), id -> new AtomicLong()).decrementAndGet();
+        }
+    }
+
+    private Map<Long, AtomicLong> loaded() {
+        Map<Long, AtomicLong> current = counts;
+        if (current != null && System.currentTimeMillis() - loadedAt < refreshMillis) {
+            return current;
+        }
+        synchronized (this) {
+            if (counts == current) {
+                Map<Long, AtomicLong> reloaded = new ConcurrentHashMap<>();
+                studentSubjectRepository.countAllBySubject()
+                        .forEach((subjectId, count) -> reloaded.put(subjectId, new AtomicLong(count)));
+                counts = reloaded;
+                loadedAt = System.currentTimeMillis();
+            }
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.student.studentmanagementsystem.enrollment;
+
+import com.student.studentmanagementsystem.exception.BusinessLogicException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.LongFunction;
+
+// A boolean expression over subject ids, e.g. "1 AND 2 AND NOT 3" or "(1 OR 2) AND NOT 4", where each id stands
+// for the set of students enrolled in that subject. AND binds tighter than OR; NOT is only accepted after AND,
+// so every result is a subset of some subject's roster and no "all students" set is needed.
+// Evaluation works on the sorted long[] rosters of EnrollmentIndex with linear merges.
+public final class EnrollmentExpression {
+
+    public static final int MAX_SUBJECTS = 50;
+    private static final int MAX_LENGTH = 1_000;
+
+    private final Node root;
+    private final Set<Long> subjectIds;
+
+    private EnrollmentExpression(Node root, Set<Long> subjectIds) {
+        this.root = root;
+        this.subjectIds = subjectIds;
+    }
+
+    public static EnrollmentExpression parse(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new BusinessLogicException("Expression must not be empty");
+        }
+        if (expression.length() > MAX_LENGTH) {
+            throw new BusinessLogicException("Expression must not be longer than " + MAX_LENGTH + " characters");
+        }
+        Parser parser = new Parser(tokenize(expression));
+        Node root = parser.parseOr();
+        if (parser.position < parser.tokens.size()) {
+            throw new BusinessLogicException("Unexpected '" + parser.tokens.get(parser.position) + "' in expression");
+        }
+        if (parser.subjectIds.size() > MAX_SUBJECTS) {
+            throw new BusinessLogicException("Expression must not reference more than " + MAX_SUBJECTS + " subjects");
+        }
+        return new EnrollmentExpression(root, parser.subjectIds);
+    }
+
+    // Distinct subject ids in order of appearance
+    public Set<Long> getSubjectIds() {
+        return subjectIds;
+    }
+
+    // Ascending student ids matching the expression, given the ascending roster of each subject
+    public long[] evaluate(LongFunction<long[]> studentsOf) {
+        return root.evaluate(studentsOf);
+    }
+
+    private static List<String> tokenize(String expression) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < expression.length()) {
+            char c = expression.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '(' || c == ')') {
+                tokens.add(String.valueOf(c));
+                i++;
+            } else if (Character.isLetterOrDigit(c)) {
+                int start = i;
+                while (i < expression.length() && Character.isLetterOrDigit(expression.charAt(i))) {
+                    i++;
+                }
+                tokens.add(expression.substring(start, i).toUpperCase(Locale.ROOT));
+            } else {
+                throw new BusinessLogicException("Unexpected '" + c + "' in expression");
+            }
+        }
+        return tokens;
+    }
+
+    private static final class Parser {
+
+        private final List<String> tokens;
+        private final Set<Long> subjectIds = new LinkedHashSet<>();
+        private int position;
+
+        private Parser(List<String> tokens) {
+            this.tokens = tokens;
+        }
+
+        // or := and ("OR" and)*
+        private Node parseOr() {
+            Node node = parseAnd();
+            while (accept("OR")) {
+                Node left = node;
+                Node right = parseAnd();
+                node = studentsOf -> union(left.evaluate(studentsOf), right.evaluate(studentsOf));
+            }
+            return node;
+        }
+
+        // and := operand ("AND" ["NOT"] operand)*
+        private Node parseAnd() {
+            Node node = parseOperand();
+            while (accept("AND")) {
+                boolean negated = accept("NOT");
+                Node left = node;
+                Node right = parseOperand();
+                node = negated
+                        ? studentsOf -> difference(left.evaluate(studentsOf), right.evaluate(studentsOf))
+                        : studentsOf -> intersection(left.evaluate(studentsOf), right.evaluate(studentsOf));
+            }
+            return node;
+        }
+
+        // operand := subjectId | "(" or ")"
+        private Node parseOperand() {
+            if (position >= tokens.size()) {
+                throw new BusinessLogicException("Expression ends unexpectedly");
+            }
+            String token = tokens.get(position++);
+            if (token.equals("(")) {
+                Node node = parseOr();
+                if (!accept(")")) {
+                    throw new BusinessLogicException("Missing ')' in expression");
+                }
+                return node;
+            }
+            if (token.equals("NOT")) {
+                throw new BusinessLogicException("NOT is only supported as AND NOT");
+            }
+            long subjectId;
+            try {
+                subjectId = Long.parseLong(token);
+            } catch (NumberFormatException ex) {
+                throw new BusinessLogicException("Expected a subject id but found '" + token + "'");
+            }
+            subjectIds.add(subjectId);
+            return studentsOf -> studentsOf.apply(subjectId);
+        }
+
+        private boolean accept(String token) {
+            if (position < tokens.size() && tokens.get(position).equals(token)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Node {
+        long[] evaluate(LongFunction<long[]> studentsOf);
+    }
+
+    // Set operations on ascending arrays without duplicates, each one pass over both inputs
+
+    private static long[] intersection(long[] a, long[] b) {
+        long[] result = new long[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private static long[] union(long[] a, long[] b) {
+        long[] result = new long[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                result[n++] = a[i++];
+            } else if (a[i] > b[j]) {
+                result[n++] = b[j++];
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        while (i < a.length) {
+            result[n++] = a[i++];
+        }
+        while (j < b.length) {
+            result[n++] = b[j++];
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private static long[] difference(long[] a, long[] b) {
+        long[] result = new long[a.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length) {
+            if (j >= b.length || a[i] < b[j]) {
+                result[n++] = a[i++];
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+}
@@ -0,0 +1,201 @@
+package com.student.studentmanagementsystem.enrollment;
+
+import com.student.studentmanagementsystem.dto.SubjectAssignmentRequest;
+import com.student.studentmanagementsystem.event.ChangeType;
+import com.student.studentmanagementsystem.event.EnrollmentChangedEvent;
+import com.student.studentmanagementsystem.event.StudentChangedEvent;
+import com.student.studentmanagementsystem.repository.StudentSubjectRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Optional in-memory copy of student_subject in both directions, as sorted long[] of ids per student and per subject.
+// Loaded once at startup when app.enrollment-index.enabled is set, then moved by committed enrollment changes, so
+// "which subjects does student X take" and "who takes subject Y" are answered without a query.
+// Arrays are never modified once published, an update swaps in a copy.
+@Component
+public class EnrollmentIndex {
+
+    private static final long[] NONE = new long[0];
+
+    private final StudentSubjectRepository studentSubjectRepository;
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, long[]> subjectsByStudent = new HashMap<>();
+    private final Map<Long, long[]> studentsBySubject = new HashMap<>();
+    private volatile boolean ready;
+
+    @Autowired
+    public EnrollmentIndex(StudentSubjectRepository studentSubjectRepository,
+                           @Value("${app.enrollment-index.enabled:false}") boolean enabled) {
+        this.studentSubjectRepository = studentSubjectRepository;
+        this.enabled = enabled;
+    }
+
+    // Callers fall back to the database until the index is loaded, or when it is disabled
+    public boolean isReady() {
+        return ready;
+    }
+
+    // The write lock is held across the read, so changes committed meanwhile are applied after it, not lost
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Map<Long, List<Long>> pairs = studentSubjectRepository.findAllSubjectIds();
+            Map<Long, List<Long>> students = new HashMap<>();
+            subjectsByStudent.clear();
+            studentsBySubject.clear();
+            pairs.forEach((studentId, subjectIds) -> {
+                subjectsByStudent.put(studentId, sorted(subjectIds));
+                subjectIds.forEach(subjectId -> students.computeIfAbsent(subjectId, id -> new ArrayList<>()).add(studentId));
+            });
+            students.forEach((subjectId, studentIds) -> studentsBySubject.put(subjectId, sorted(studentIds)));
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (SubjectAssignmentRequest pair : event.getAdded()) {
+                subjectsByStudent.compute(pair.getStudentId(), (id, ids) -> with(ids, pair.getSubjectId()));
+                studentsBySubject.compute(pair.getSubjectId(), (id, ids) -> with(ids, pair.getStudentId()));
+            }
+            for (SubjectAssignmentRequest pair : event.getRemoved()) {
+                subjectsByStudent.computeIfPresent(pair.getStudentId(), (id, ids) -> without(ids, pair.getSubjectId()));
+                studentsBySubject.computeIfPresent(pair.getSubjectId(), (id, ids) -> without(ids, pair.getStudentId()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // A deleted student takes all its pairs along, including any the removed list of the delete did not name
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (!enabled || event.getType() != ChangeType.DELETED) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            long[] subjectIds = subjectsByStudent.remove(event.getStudentId());
+            if (subjectIds != null) {
+                for (long subjectId : subjectIds) {
+                    studentsBySubject.computeIfPresent(subjectId, (id, ids) -> without(ids, event.getStudentId()));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isEnrolled(Long studentId, Long subjectId) {
+        return Arrays.binarySearch(subjectsOf(studentId), subjectId) >= 0;
+    }
+
+    // Ascending subject ids, the returned array must not be modified
+    public long[] subjectsOf(Long studentId) {
+        lock.readLock().lock();
+        try {
+            return subjectsByStudent.getOrDefault(studentId, NONE);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ascending student ids, the returned array must not be modified
+    public long[] studentsOf(Long subjectId) {
+        lock.readLock().lock();
+        try {
+            return studentsBySubject.getOrDefault(subjectId, NONE);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Same shape as StudentSubjectRepository.findSubjectIdsByStudentIds, students without subjects are left out
+    public Map<Long, List<Long>> subjectIdsOf(Collection<Long> studentIds) {
+        Map<Long, List<Long>> result = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (Long studentId : studentIds) {
+                long[] subjectIds = subjectsByStudent.get(studentId);
+                if (subjectIds != null) {
+                    result.put(studentId, Arrays.stream(subjectIds).boxed().toList());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    // One keyset page of a subject's roster: up to limit student ids greater than after
+    public List<Long> studentsAfter(Long subjectId, long after, int limit) {
+        long[] studentIds = studentsOf(subjectId);
+        int from = Arrays.binarySearch(studentIds, after);
+        from = from >= 0 ? from + 1 : -from - 1;
+        int to = (int) Math.min((long) from + limit, studentIds.length);
+        return Arrays.stream(studentIds, from, to).boxed().toList();
+    }
+
+    private static long[] sorted(List<Long> ids) {
+        long[] array = ids.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(array);
+        return array;
+    }
+
+    private static long[] with(long[] ids, long id) {
+        if (ids == null) {
+            return new long[]{id};
+        }
+        int index = Arrays.binarySearch(ids, id);
+        if (index >= 0) {
+            return ids;
+        }
+        int insertAt = -index - 1;
+        long[] copy = new long[ids.length + 1];
+        System.arraycopy(ids, 0, copy, 0, insertAt);
+        copy[insertAt] = id;
+        System.arraycopy(ids, insertAt, copy, insertAt + 1, ids.length - insertAt);
+        return copy;
+    }
+
+    // Returning null drops the map entry once the last id is gone
+    private static long[] without(long[] ids, long id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return ids;
+        }
+        if (ids.length == 1) {
+            return null;
+        }
+        long[] copy = new long[ids.length - 1];
+        System.arraycopy(ids, 0, copy, 0, index);
+        System.arraycopy(ids, index + 1, copy, index, ids.length - index - 1);
+        return copy;
+    }
+}
@@ -1,6 +1,8 @@
 package com.student.studentmanagementsystem.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -9,11 +11,22 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "students")
+@Table(name = "students", indexes = {
+        @Index(name = "idx_students_last_first_name", columnList = "last_name, first_name"),
+        @Index(name = "idx_students_created_at", columnList = "created_at"),
+        @Index(name = "idx_students_updated_at", columnList = "updated_at")
+}, uniqueConstraints = @UniqueConstraint(name = Student.EMAIL_CONSTRAINT, columnNames = "email"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "students")
 public class Student {
 
+    // Named so a violation can be told apart from other integrity errors, see UniqueKeyViolations
+    public static final String EMAIL_CONSTRAINT = "uk_students_email";
+
+    // Pooled sequence ids let Hibernate batch inserts, which IDENTITY columns prevent
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_seq")
+    @SequenceGenerator(name = "student_seq", sequenceName = "student_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "First name is required")
@@ -28,7 +41,7 @@ public class Student {
 
     @Email(message = "Email should be valid")
     @NotBlank(message = "Email is required")
-    @Column(name = "email", nullable = false, unique = true)
+    @Column(name = "email", nullable = false)
     private String email;
 
     @Size(min = 10, max = 15, message = "Phone number must be between 10 and 15 characters")
@@ -41,11 +54,19 @@ public class Student {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock, concurrent read-modify-write updates fail instead of overwriting each other
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "student-subjects")
     @JoinTable(
             name = "student_subject",
             joinColumns = @JoinColumn(name = "student_id"),
-            inverseJoinColumns = @JoinColumn(name = "subject_id")
+            inverseJoinColumns = @JoinColumn(name = "subject_id"),
+            // Reverse lookups by subject, the primary key only covers (student_id, subject_id)
+            indexes = @Index(name = "idx_student_subject_subject_student", columnList = "subject_id, student_id")
     )
     private Set<Subject> subjects = new HashSet<>();
 
@@ -127,6 +148,14 @@ public class Student {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Set<Subject> getSubjects() {
         return subjects;
     }
@@ -1,6 +1,8 @@
 package com.student.studentmanagementsystem.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
@@ -8,16 +10,20 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "subjects")
+@Table(name = "subjects", uniqueConstraints = @UniqueConstraint(name = Subject.NAME_CONSTRAINT, columnNames = "name"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "subjects")
 public class Subject {
 
+    public static final String NAME_CONSTRAINT = "uk_subjects_name";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @NotBlank(message = "Subject name is required")
     @Size(min = 2, max = 100, message = "Subject name must be between 2 and 100 characters")
-    @Column(name = "name", nullable = false, unique = true)
+    @Column(name = "name", nullable = false)
     private String name;
 
     @Size(max = 500, message = "Description cannot exceed 500 characters")
@@ -33,6 +39,11 @@ public class Subject {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Bumped on every update, also the ETag clients revalidate cached subjects with
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @ManyToMany(mappedBy = "subjects", fetch = FetchType.LAZY)
     private Set<Student> students = new HashSet<>();
 
@@ -105,6 +116,14 @@ public class Subject {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Set<Student> getStudents() {
         return students;
     }
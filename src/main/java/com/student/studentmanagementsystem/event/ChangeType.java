@@ -0,0 +1,8 @@
+package com.student.studentmanagementsystem.event;
+
+// Kind of change described by a domain event
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
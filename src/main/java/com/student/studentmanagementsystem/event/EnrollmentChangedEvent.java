@@ -0,0 +1,33 @@
+package com.student.studentmanagementsystem.event;
+
+import com.student.studentmanagementsystem.dto.SubjectAssignmentRequest;
+import java.util.List;
+
+// Published when (student, subject) pairs are added to or removed from the student_subject join table
+public class EnrollmentChangedEvent {
+
+    private final List<SubjectAssignmentRequest> added;
+    private final List<SubjectAssignmentRequest> removed;
+
+    public EnrollmentChangedEvent(List<SubjectAssignmentRequest> added, List<SubjectAssignmentRequest> removed) {
+        this.added = added;
+        this.removed = removed;
+    }
+
+    public static EnrollmentChangedEvent added(List<SubjectAssignmentRequest> pairs) {
+        return new EnrollmentChangedEvent(pairs, List.of());
+    }
+
+    public static EnrollmentChangedEvent removed(List<SubjectAssignmentRequest> pairs) {
+        return new EnrollmentChangedEvent(List.of(), pairs);
+    }
+
+    // Getters
+    public List<SubjectAssignmentRequest> getAdded() {
+        return added;
+    }
+
+    public List<SubjectAssignmentRequest> getRemoved() {
+        return removed;
+    }
+}
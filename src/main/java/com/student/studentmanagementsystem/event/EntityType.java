@@ -0,0 +1,8 @@
+package com.student.studentmanagementsystem.event;
+
+// What a change-feed entry is about; ENROLLMENT entries are (student, subject) pairs keyed by the student id
+public enum EntityType {
+    STUDENT,
+    SUBJECT,
+    ENROLLMENT
+}
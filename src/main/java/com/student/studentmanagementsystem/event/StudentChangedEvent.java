@@ -0,0 +1,30 @@
+package com.student.studentmanagementsystem.event;
+
+import com.student.studentmanagementsystem.dto.StudentResponse;
+
+// Published when a student is created, updated or deleted, the student is null for deletions
+public class StudentChangedEvent {
+
+    private final ChangeType type;
+    private final Long studentId;
+    private final StudentResponse student;
+
+    public StudentChangedEvent(ChangeType type, Long studentId, StudentResponse student) {
+        this.type = type;
+        this.studentId = studentId;
+        this.student = student;
+    }
+
+    // Getters
+    public ChangeType getType() {
+        return type;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public StudentResponse getStudent() {
+        return student;
+    }
+}
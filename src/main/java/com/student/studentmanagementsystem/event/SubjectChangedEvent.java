@@ -0,0 +1,36 @@
+package com.student.studentmanagementsystem.event;
+
+import com.student.studentmanagementsystem.dto.SubjectResponse;
+
+// Published when a subject is created, updated or deleted
+public class SubjectChangedEvent {
+
+    private final ChangeType type;
+    private final Long subjectId;
+    private final String previousName;
+    private final SubjectResponse subject;
+
+    public SubjectChangedEvent(ChangeType type, Long subjectId, String previousName, SubjectResponse subject) {
+        this.type = type;
+        this.subjectId = subjectId;
+        this.previousName = previousName;
+        this.subject = subject;
+    }
+
+    // Getters
+    public ChangeType getType() {
+        return type;
+    }
+
+    public Long getSubjectId() {
+        return subjectId;
+    }
+
+    public String getPreviousName() {
+        return previousName;
+    }
+
+    public SubjectResponse getSubject() {
+        return subject;
+    }
+}
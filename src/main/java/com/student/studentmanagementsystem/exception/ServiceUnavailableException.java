@@ -0,0 +1,7 @@
+package com.student.studentmanagementsystem.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
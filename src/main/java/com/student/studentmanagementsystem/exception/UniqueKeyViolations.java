@@ -0,0 +1,31 @@
+package com.student.studentmanagementsystem.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.Locale;
+
+// Tells a duplicate on one named unique constraint apart from every other integrity error, such as a value
+// too long for its column or a broken foreign key, which must not be reported as "already exists"
+public final class UniqueKeyViolations {
+
+    private UniqueKeyViolations() {}
+
+    public static boolean isViolationOf(DataIntegrityViolationException ex, String constraintName) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE
+                        && (names(violation.getConstraintName(), constraintName)
+                        || names(violation.getMessage(), constraintName));
+            }
+        }
+        // Translated straight from the JDBC error code, only the message carries the key name
+        return ex instanceof DuplicateKeyException && names(ex.getMessage(), constraintName);
+    }
+
+    // Drivers quote and qualify the name differently, e.g. students.uk_students_email or PUBLIC.UK_STUDENTS_EMAIL
+    private static boolean names(String text, String constraintName) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(constraintName.toLowerCase(Locale.ROOT));
+    }
+}
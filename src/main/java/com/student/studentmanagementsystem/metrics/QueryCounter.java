@@ -0,0 +1,90 @@
+package com.student.studentmanagementsystem.metrics;
+
+// Per-thread tally of the Hibernate work done for the current request, inactive outside a request
+public final class QueryCounter {
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {}
+
+    public static void start() {
+        start(0);
+    }
+
+    // With a positive budget, the call site of the first statement over budget is captured
+    public static void start(int statementBudget) {
+        CURRENT.set(new Counts(statementBudget));
+    }
+
+    // Returns the counts gathered since start() and stops counting on this thread
+    public static Counts stop() {
+        Counts counts = CURRENT.get();
+        CURRENT.remove();
+        return counts;
+    }
+
+    public static Counts current() {
+        return CURRENT.get();
+    }
+
+    static void statementExecuted() {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.statements++;
+            if (counts.statementBudget > 0 && counts.statements == counts.statementBudget + 1) {
+                counts.overBudgetCallSite = new Throwable("Statement " + counts.statements
+                        + " exceeds the budget of " + counts.statementBudget);
+            }
+        }
+    }
+
+    static void entityLoaded() {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.entitiesLoaded++;
+        }
+    }
+
+    static void collectionInitialized() {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.collectionsInitialized++;
+        }
+    }
+
+    public static final class Counts {
+        private final int statementBudget;
+        private long statements;
+        private long entitiesLoaded;
+        private long collectionsInitialized;
+        private Throwable overBudgetCallSite;
+
+        private Counts(int statementBudget) {
+            this.statementBudget = statementBudget;
+        }
+
+        public int getStatementBudget() {
+            return statementBudget;
+        }
+
+        public boolean isOverBudget() {
+            return overBudgetCallSite != null;
+        }
+
+        public Throwable getOverBudgetCallSite() {
+            return overBudgetCallSite;
+        }
+
+        public long getStatements() {
+            return statements;
+        }
+
+        public long getEntitiesLoaded() {
+            return entitiesLoaded;
+        }
+
+        public long getCollectionsInitialized() {
+            return collectionsInitialized;
+        }
+    }
+}
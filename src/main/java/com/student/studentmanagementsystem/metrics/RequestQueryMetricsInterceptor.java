@@ -0,0 +1,71 @@
+package com.student.studentmanagementsystem.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+// Records the database work of each API request as summaries tagged like http.server.requests,
+// and warns with the offending call site when a request goes over its statement budget
+public class RequestQueryMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestQueryMetricsInterceptor.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+
+    public RequestQueryMetricsInterceptor(MeterRegistry meterRegistry, int statementBudget) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            QueryCounter.start(statementBudget);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        // Streaming responses keep working on another thread, their counts cannot be attributed here
+        QueryCounter.stop();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        QueryCounter.Counts counts = QueryCounter.stop();
+        if (counts == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        record("http.server.requests.sql.statements", request.getMethod(), uri, counts.getStatements());
+        record("http.server.requests.entities.loaded", request.getMethod(), uri, counts.getEntitiesLoaded());
+        record("http.server.requests.collections.initialized", request.getMethod(), uri,
+                counts.getCollectionsInitialized());
+
+        if (counts.isOverBudget()) {
+            log.warn("{} {} ({}) issued {} SQL statements, budget is {}", request.getMethod(), uri, handler,
+                    counts.getStatements(), counts.getStatementBudget(), counts.getOverBudgetCallSite());
+        }
+    }
+
+    private void record(String name, String method, String uri, long amount) {
+        DistributionSummary.builder(name)
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry)
+                .record(amount);
+    }
+}
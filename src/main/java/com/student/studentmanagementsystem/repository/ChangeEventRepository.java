@@ -0,0 +1,125 @@
+package com.student.studentmanagementsystem.repository;
+
+import com.student.studentmanagementsystem.dto.ChangeEventResponse;
+import com.student.studentmanagementsystem.entity.ChangeEvent;
+import com.student.studentmanagementsystem.event.ChangeType;
+import com.student.studentmanagementsystem.event.EntityType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// Outbox writes and feed reads over change_events, plain JDBC so a transaction's events go out as one batch
+@Repository
+public class ChangeEventRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ChangeEventRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    private static final String INSERT_SQL = "INSERT INTO change_events "
+            + "(entity_type, entity_id, change_type, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    // Placeholder created_at of rows written before their transaction commits, never within the settle window
+    private static final Timestamp UNSETTLED = Timestamp.valueOf(LocalDateTime.of(9999, 12, 31, 0, 0));
+
+    // created_at is the commit-time stamp the settle window compares against, not the time the change was made.
+    // Returns the sequences, which the feed's low-water mark needs
+    public List<Long> insertAll(List<ChangeEvent> events, LocalDateTime createdAt) {
+        return insert(events, Timestamp.valueOf(createdAt));
+    }
+
+    // Inserts ahead of commit, returning the sequences so settle() can stamp them once the commit time is known
+    public List<Long> insertUnsettled(List<ChangeEvent> events) {
+        return insert(events, UNSETTLED);
+    }
+
+    // Each range is a [first, last] pair of sequences this transaction wrote with insertUnsettled
+    public void settle(Collection<long[]> sequenceRanges, LocalDateTime createdAt) {
+        Timestamp stamp = Timestamp.valueOf(createdAt);
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+                "UPDATE change_events SET created_at = ? WHERE id BETWEEN ? AND ?",
+                sequenceRanges,
+                BATCH_SIZE,
+                (ps, range) -> {
+                    ps.setTimestamp(1, stamp);
+                    ps.setLong(2, range[0]);
+                    ps.setLong(3, range[1]);
+                });
+    }
+
+    public long maxSequence() {
+        Long max = jdbcTemplate.getJdbcTemplate().queryForObject("SELECT MAX(id) FROM change_events", Long.class);
+        return max != null ? max : 0L;
+    }
+
+    // Entries after the given sequence up to upTo, leaving out the ones newer than settledBefore
+    public List<ChangeEventResponse> findAfter(long since, long upTo, LocalDateTime settledBefore, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("since", since)
+                .addValue("upTo", upTo)
+                .addValue("settledBefore", Timestamp.valueOf(settledBefore))
+                .addValue("limit", limit);
+
+        return jdbcTemplate.query(
+                "SELECT id, entity_type, entity_id, change_type, payload, created_at FROM change_events "
+                        + "WHERE id > :since AND id <= :upTo AND created_at <= :settledBefore ORDER BY id LIMIT :limit",
+                params,
+                (rs, rowNum) -> new ChangeEventResponse(
+                        rs.getLong("id"),
+                        EntityType.valueOf(rs.getString("entity_type")),
+                        rs.getLong("entity_id"),
+                        ChangeType.valueOf(rs.getString("change_type")),
+                        rs.getString("payload"),
+                        rs.getTimestamp("created_at").toLocalDateTime()));
+    }
+
+    private List<Long> insert(List<ChangeEvent> events, Timestamp createdAt) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bind(ps, events.get(i), createdAt);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return events.size();
+                    }
+                },
+                keyHolder);
+        return keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.values().iterator().next()).longValue())
+                .toList();
+    }
+
+    private static void bind(PreparedStatement ps, ChangeEvent event, Timestamp createdAt) throws SQLException {
+        ps.setString(1, event.getEntityType().name());
+        ps.setLong(2, event.getEntityId());
+        ps.setString(3, event.getChangeType().name());
+        if (event.getPayload() == null) {
+            ps.setNull(4, Types.CLOB);
+        } else {
+            ps.setString(4, event.getPayload());
+        }
+        ps.setTimestamp(5, createdAt);
+    }
+}
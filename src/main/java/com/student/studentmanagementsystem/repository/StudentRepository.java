@@ -1,24 +1,92 @@
 package com.student.studentmanagementsystem.repository;
 
 
+import com.student.studentmanagementsystem.dto.StudentResponse;
+import com.student.studentmanagementsystem.dto.TableVersion;
 import com.student.studentmanagementsystem.entity.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, JpaSpecificationExecutor<Student> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Student> findByEmail(String email);
 
-    @Query("SELECT s FROM Student s LEFT JOIN FETCH s.subjects")
-    List<Student> findAllWithSubjects();
+    // Bulk delete without loading the entity; Hibernate clears the student's student_subject rows first
+    @Modifying
+    @Query("DELETE FROM Student s WHERE s.id = :id")
+    int deleteByIdReturningCount(@Param("id") Long id);
 
     @Query("SELECT s FROM Student s LEFT JOIN FETCH s.subjects WHERE s.id = :id")
     Optional<Student> findByIdWithSubjects(Long id);
 
+    // Read-only list queries select straight into DTOs, skipping entity hydration and the persistence context
+    @Query("SELECT new com.student.studentmanagementsystem.dto.StudentResponse("
+            + "s.id, s.firstName, s.lastName, s.email, s.phoneNumber, s.createdAt, s.updatedAt) "
+            + "FROM Student s ORDER BY s.id")
+    List<StudentResponse> findAllResponses();
+
+    // Keyset pagination: WHERE id > :cursor ORDER BY id LIMIT n
+    @Query("SELECT new com.student.studentmanagementsystem.dto.StudentResponse("
+            + "s.id, s.firstName, s.lastName, s.email, s.phoneNumber, s.createdAt, s.updatedAt) "
+            + "FROM Student s WHERE s.id > :cursor ORDER BY s.id")
+    List<StudentResponse> findResponsesAfter(@Param("cursor") Long cursor, Limit limit);
+
+    // Roster of one subject, walked along the (subject_id, student_id) join-table index; Subject.students stays untouched
+    @Query("SELECT new com.student.studentmanagementsystem.dto.StudentResponse("
+            + "s.id, s.firstName, s.lastName, s.email, s.phoneNumber, s.createdAt, s.updatedAt) "
+            + "FROM Student s JOIN s.subjects sub WHERE sub.id = :subjectId AND s.id > :cursor ORDER BY s.id")
+    List<StudentResponse> findResponsesBySubjectAfter(@Param("subjectId") Long subjectId,
+                                                      @Param("cursor") Long cursor, Limit limit);
+
+    // One aggregate row, answered from indexes, that stands in for the whole table when revalidating lists
+    @Query("SELECT new com.student.studentmanagementsystem.dto.TableVersion(COUNT(s), MAX(s.updatedAt)) FROM Student s")
+    TableVersion findTableVersion();
+
+    // The same row plus the latest change feed sequence, for when enrollment writes leave updated_at alone
+    @Query("SELECT new com.student.studentmanagementsystem.dto.TableVersion(COUNT(s), MAX(s.updatedAt), "
+            + "(SELECT MAX(e.id) FROM ChangeEvent e)) FROM Student s")
+    TableVersion findTableVersionWithChangeSequence();
+
+    @Query("SELECT new com.student.studentmanagementsystem.dto.StudentResponse("
+            + "s.id, s.firstName, s.lastName, s.email, s.phoneNumber, s.createdAt, s.updatedAt) "
+            + "FROM Student s WHERE s.id IN :ids ORDER BY s.id")
+    List<StudentResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Streams every student for exports; rows are fetched from the server in batches instead of all at once
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM Student s ORDER BY s.id")
+    Stream<Student> streamAllOrderById();
+
+    @Query("SELECT CASE WHEN COUNT(st) > 0 THEN true ELSE false END FROM Student st JOIN st.subjects sub "
+            + "WHERE st.id = :studentId AND sub.id = :subjectId")
+    boolean existsByStudentIdAndSubjectId(@Param("studentId") Long studentId, @Param("subjectId") Long subjectId);
+
+    @Query("SELECT s.id FROM Student s WHERE s.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT s.email FROM Student s WHERE s.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
     boolean existsByEmail(String email);
+
+    @Query("SELECT s.email FROM Student s")
+    List<String> findAllEmails();
 }
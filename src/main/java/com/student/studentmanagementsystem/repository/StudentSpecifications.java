@@ -0,0 +1,124 @@
+package com.student.studentmanagementsystem.repository;
+
+import com.student.studentmanagementsystem.dto.StudentCursor;
+import com.student.studentmanagementsystem.dto.StudentFilter;
+import com.student.studentmanagementsystem.dto.StudentSort;
+import com.student.studentmanagementsystem.entity.Student;
+import com.student.studentmanagementsystem.entity.Subject;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Predicates for the filtered student list, each shaped to use an index declared on Student
+public final class StudentSpecifications {
+
+    private StudentSpecifications() {}
+
+    public static Specification<Student> matching(StudentFilter filter) {
+        Specification<Student> spec = Specification.allOf();
+        if (filter.getLastName() != null) {
+            spec = spec.and(lastNameStartsWith(filter.getLastName()));
+        }
+        if (filter.getFirstName() != null) {
+            spec = spec.and(firstNameStartsWith(filter.getFirstName()));
+        }
+        if (filter.getEmailDomain() != null) {
+            spec = spec.and(emailDomain(filter.getEmailDomain()));
+        }
+        if (filter.getCreatedFrom() != null) {
+            spec = spec.and(createdFrom(filter.getCreatedFrom()));
+        }
+        if (filter.getCreatedTo() != null) {
+            spec = spec.and(createdBefore(filter.getCreatedTo()));
+        }
+        if (filter.getSubjectId() != null) {
+            spec = spec.and(enrolledIn(filter.getSubjectId()));
+        }
+        return spec;
+    }
+
+    // Prefix LIKE without a leading wildcard is a range scan on (last_name, first_name)
+    public static Specification<Student> lastNameStartsWith(String prefix) {
+        return (root, query, cb) -> cb.like(root.get("lastName"), escapeLike(prefix) + "%", '\\');
+    }
+
+    public static Specification<Student> firstNameStartsWith(String prefix) {
+        return (root, query, cb) -> cb.like(root.get("firstName"), escapeLike(prefix) + "%", '\\');
+    }
+
+    // A suffix match cannot use a B-tree index, it narrows rows already picked by the other predicates
+    public static Specification<Student> emailDomain(String domain) {
+        String normalized = domain.startsWith("@") ? domain.substring(1) : domain;
+        return (root, query, cb) -> cb.like(root.get("email"), "%@" + escapeLike(normalized), '\\');
+    }
+
+    public static Specification<Student> createdFrom(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+
+    public static Specification<Student> createdBefore(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.get("createdAt"), to);
+    }
+
+    // IN semi-join driven from the subject side, which reads the (subject_id, student_id) index
+    public static Specification<Student> enrolledIn(Long subjectId) {
+        return (root, query, cb) -> {
+            Subquery<Long> enrolled = query.subquery(Long.class);
+            Root<Student> student = enrolled.from(Student.class);
+            Join<Student, Subject> subject = student.join("subjects");
+            enrolled.select(student.get("id")).where(cb.equal(subject.get("id"), subjectId));
+            return root.get("id").in(enrolled);
+        };
+    }
+
+    // Keyset predicate: rows strictly after the cursor's sort values in the cursor's ordering
+    public static Specification<Student> after(StudentCursor cursor) {
+        return (root, query, cb) -> {
+            Path<Long> id = root.get("id");
+            return switch (cursor.getSort()) {
+                case ID -> cb.greaterThan(id, cursor.getId());
+                case NAME -> cb.or(
+                        cb.greaterThan(root.get("lastName"), cursor.getLastName()),
+                        cb.and(cb.equal(root.get("lastName"), cursor.getLastName()), cb.or(
+                                cb.greaterThan(root.get("firstName"), cursor.getFirstName()),
+                                cb.and(cb.equal(root.get("firstName"), cursor.getFirstName()),
+                                        cb.greaterThan(id, cursor.getId())))));
+                case CREATED_AT -> cb.or(
+                        cb.greaterThan(root.get("createdAt"), cursor.getCreatedAt()),
+                        cb.and(cb.equal(root.get("createdAt"), cursor.getCreatedAt()),
+                                cb.greaterThan(id, cursor.getId())));
+            };
+        };
+    }
+
+    public static Sort sortOf(StudentSort sort) {
+        return switch (sort) {
+            case ID -> Sort.by("id");
+            case NAME -> Sort.by("lastName", "firstName", "id");
+            case CREATED_AT -> Sort.by("createdAt", "id");
+        };
+    }
+
+    // Search fallback while the in-memory index loads: every term must occur in a name, the email or the phone
+    // number. Terms are lower-cased, and the columns are compared lower-cased too
+    public static Specification<Student> containsAllTerms(List<String> terms) {
+        return (root, query, cb) -> cb.and(terms.stream()
+                .map(term -> "%" + escapeLike(term) + "%")
+                .map(pattern -> cb.or(
+                        cb.like(cb.lower(root.get("firstName")), pattern, '\\'),
+                        cb.like(cb.lower(root.get("lastName")), pattern, '\\'),
+                        cb.like(cb.lower(root.get("email")), pattern, '\\'),
+                        cb.like(cb.lower(root.get("phoneNumber")), pattern, '\\')))
+                .toArray(Predicate[]::new));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,205 @@
+package com.student.studentmanagementsystem.repository;
+
+import com.student.studentmanagementsystem.dto.SubjectAssignmentRequest;
+import com.student.studentmanagementsystem.entity.Student;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Set-based access to the student_subject join table that never initializes entity collections
+@Repository
+public class StudentSubjectRepository {
+
+    private static final int BATCH_SIZE = 500;
+    private static final String SUBJECTS_ROLE = Student.class.getName() + ".subjects";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final boolean touchStudents;
+
+    @Autowired
+    public StudentSubjectRepository(NamedParameterJdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                                    @Value("${app.enrollment.touch-students:false}") boolean touchStudents) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.touchStudents = touchStudents;
+    }
+
+    // Whether enrollment writes move students.updated_at, see app.enrollment.touch-students
+    public boolean touchesStudents() {
+        return touchStudents;
+    }
+
+    // Subject ids per student, read from the join table alone so no student or subject columns are repeated
+    public Map<Long, List<Long>> findSubjectIdsByStudentIds(Collection<Long> studentIds) {
+        Map<Long, List<Long>> subjectIds = new HashMap<>();
+        if (studentIds.isEmpty()) {
+            return subjectIds;
+        }
+        jdbcTemplate.query(
+                "SELECT student_id, subject_id FROM student_subject WHERE student_id IN (:studentIds)",
+                new MapSqlParameterSource("studentIds", studentIds),
+                rs -> {
+                    subjectIds.computeIfAbsent(rs.getLong("student_id"), id -> new ArrayList<>())
+                            .add(rs.getLong("subject_id"));
+                });
+        return subjectIds;
+    }
+
+    // Locking read of one student's pairs ahead of deleting the student. It waits for assignments already written
+    // for the student and holds off new ones until this transaction ends, so no pair is missed by the caller
+    public List<Long> findSubjectIdsForUpdate(Long studentId) {
+        return jdbcTemplate.queryForList(
+                "SELECT subject_id FROM student_subject WHERE student_id = :studentId FOR UPDATE",
+                new MapSqlParameterSource("studentId", studentId),
+                Long.class);
+    }
+
+    public Map<Long, List<Long>> findAllSubjectIds() {
+        Map<Long, List<Long>> subjectIds = new HashMap<>();
+        jdbcTemplate.getJdbcTemplate().query(
+                "SELECT student_id, subject_id FROM student_subject",
+                rs -> {
+                    subjectIds.computeIfAbsent(rs.getLong("student_id"), id -> new ArrayList<>())
+                            .add(rs.getLong("subject_id"));
+                });
+        return subjectIds;
+    }
+
+    // Ascending student ids per subject, read in (subject_id, student_id) index order
+    public Map<Long, long[]> findStudentIdsBySubjectIds(Collection<Long> subjectIds) {
+        Map<Long, List<Long>> studentIds = new HashMap<>();
+        if (subjectIds.isEmpty()) {
+            return Map.of();
+        }
+        jdbcTemplate.query(
+                "SELECT subject_id, student_id FROM student_subject "
+                        + "WHERE subject_id IN (:subjectIds) ORDER BY subject_id, student_id",
+                new MapSqlParameterSource("subjectIds", subjectIds),
+                rs -> {
+                    studentIds.computeIfAbsent(rs.getLong("subject_id"), id -> new ArrayList<>())
+                            .add(rs.getLong("student_id"));
+                });
+        Map<Long, long[]> rosters = new HashMap<>();
+        studentIds.forEach((subjectId, ids) -> rosters.put(subjectId, ids.stream().mapToLong(Long::longValue).toArray()));
+        return rosters;
+    }
+
+    // Enrollment count per subject, a GROUP BY over the (subject_id, student_id) index
+    public Map<Long, Long> countBySubjectIds(Collection<Long> subjectIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        if (subjectIds.isEmpty()) {
+            return counts;
+        }
+        jdbcTemplate.query(
+                "SELECT subject_id, COUNT(*) AS enrolled FROM student_subject "
+                        + "WHERE subject_id IN (:subjectIds) GROUP BY subject_id",
+                new MapSqlParameterSource("subjectIds", subjectIds),
+                rs -> {
+                    counts.put(rs.getLong("subject_id"), rs.getLong("enrolled"));
+                });
+        return counts;
+    }
+
+    public Map<Long, Long> countAllBySubject() {
+        Map<Long, Long> counts = new HashMap<>();
+        jdbcTemplate.getJdbcTemplate().query(
+                "SELECT subject_id, COUNT(*) AS enrolled FROM student_subject GROUP BY subject_id",
+                rs -> {
+                    counts.put(rs.getLong("subject_id"), rs.getLong("enrolled"));
+                });
+        return counts;
+    }
+
+    public Set<SubjectAssignmentRequest> findExistingPairs(Collection<Long> studentIds, Collection<Long> subjectIds) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("studentIds", studentIds)
+                .addValue("subjectIds", subjectIds);
+
+        Set<SubjectAssignmentRequest> pairs = new HashSet<>();
+        jdbcTemplate.query(
+                "SELECT student_id, subject_id FROM student_subject "
+                        + "WHERE student_id IN (:studentIds) AND subject_id IN (:subjectIds)",
+                params,
+                rs -> {
+                    pairs.add(new SubjectAssignmentRequest(rs.getLong("student_id"), rs.getLong("subject_id")));
+                });
+        return pairs;
+    }
+
+    public void insertAll(Collection<SubjectAssignmentRequest> pairs) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+                "INSERT INTO student_subject (student_id, subject_id) VALUES (?, ?)",
+                pairs,
+                BATCH_SIZE,
+                (ps, pair) -> {
+                    ps.setLong(1, pair.getStudentId());
+                    ps.setLong(2, pair.getSubjectId());
+                });
+        pairs.forEach(pair -> evictSubjects(pair.getStudentId()));
+        touchStudents(pairs.stream().map(SubjectAssignmentRequest::getStudentId).collect(Collectors.toSet()));
+    }
+
+    // Returns the number of rows removed, 0 when the pair was not assigned
+    public int delete(Long studentId, Long subjectId) {
+        int deleted = jdbcTemplate.update(
+                "DELETE FROM student_subject WHERE student_id = :studentId AND subject_id = :subjectId",
+                new MapSqlParameterSource("studentId", studentId).addValue("subjectId", subjectId));
+        if (deleted > 0) {
+            evictSubjects(studentId);
+            touchStudents(Set.of(studentId));
+        }
+        return deleted;
+    }
+
+    // Primary key lookups only, pairs that are not assigned are skipped
+    public void deleteAll(Collection<SubjectAssignmentRequest> pairs) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+                "DELETE FROM student_subject WHERE student_id = ? AND subject_id = ?",
+                pairs,
+                BATCH_SIZE,
+                (ps, pair) -> {
+                    ps.setLong(1, pair.getStudentId());
+                    ps.setLong(2, pair.getSubjectId());
+                });
+        pairs.forEach(pair -> evictSubjects(pair.getStudentId()));
+        touchStudents(pairs.stream().map(SubjectAssignmentRequest::getStudentId).collect(Collectors.toSet()));
+    }
+
+    // Opt-in: an extra UPDATE per 500 students and a second-level cache eviction on every enrollment write
+    private void touchStudents(Set<Long> studentIds) {
+        if (!touchStudents) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(studentIds);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+            jdbcTemplate.update(
+                    "UPDATE students SET updated_at = :now WHERE id IN (:studentIds)",
+                    new MapSqlParameterSource("now", now).addValue("studentIds", chunk));
+        }
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        ids.forEach(id -> cache.evictEntityData(Student.class, id));
+    }
+
+    // Plain JDBC writes bypass Hibernate, so drop the cached Student.subjects collection ourselves
+    private void evictSubjects(Long studentId) {
+        entityManagerFactory.getCache().unwrap(Cache.class).evictCollectionData(SUBJECTS_ROLE, studentId);
+    }
+}
@@ -1,19 +1,52 @@
 package com.student.studentmanagementsystem.repository;
 
+import com.student.studentmanagementsystem.dto.SubjectResponse;
 import com.student.studentmanagementsystem.entity.Subject;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SubjectRepository extends JpaRepository<Subject, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Subject> findByName(String name);
 
-    @Query("SELECT CASE WHEN COUNT(s) > 0 THEN true ELSE false END FROM Subject s JOIN s.students st WHERE s.id = :subjectId")
-    boolean hasStudentsAssigned(@Param("subjectId") Long subjectId);
+    // Read-only list query that selects straight into DTOs, skipping entity hydration and the persistence context
+    @Query("SELECT new com.student.studentmanagementsystem.dto.SubjectResponse("
+            + "s.id, s.name, s.description, s.credits, s.createdAt, s.updatedAt, s.version) "
+            + "FROM Subject s ORDER BY s.id")
+    List<SubjectResponse> findAllResponses();
+
+    // Stops at the first enrolled student instead of counting them all
+    default boolean hasStudentsAssigned(Long subjectId) {
+        return !findEnrolledStudentIds(subjectId, Limit.of(1)).isEmpty();
+    }
+
+    @Query("SELECT st.id FROM Subject s JOIN s.students st WHERE s.id = :subjectId")
+    List<Long> findEnrolledStudentIds(@Param("subjectId") Long subjectId, Limit limit);
+
+    // One statement: deletes the subject only if no student takes it, 0 rows means missing or in use
+    @Modifying
+    @Query(value = "DELETE FROM subjects WHERE id = :id "
+            + "AND NOT EXISTS (SELECT 1 FROM student_subject WHERE subject_id = :id)", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "subjects"))
+    int deleteIfUnassigned(@Param("id") Long id);
+
+    @Query("SELECT s.id FROM Subject s WHERE s.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 
     boolean existsByName(String name);
+
+    @Query("SELECT s.name FROM Subject s")
+    List<String> findAllNames();
 }
\ No newline at end of file
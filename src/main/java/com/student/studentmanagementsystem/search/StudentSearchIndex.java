@@ -0,0 +1,340 @@
+package com.student.studentmanagementsystem.search;
+
+import com.student.studentmanagementsystem.dto.StudentResponse;
+import com.student.studentmanagementsystem.event.ChangeType;
+import com.student.studentmanagementsystem.event.StudentChangedEvent;
+import com.student.studentmanagementsystem.repository.StudentRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory inverted index over student names, emails and phone numbers.
+// Terms are kept sorted for prefix lookups and indexed by trigram for typo-tolerant lookups.
+@Component
+public class StudentSearchIndex {
+
+    // Share of a query term's trigrams an indexed term must contain to count as a fuzzy match
+    private static final double MIN_SIMILARITY = 0.4;
+    private static final double PREFIX_SCORE = 1.0;
+    private static final double EXACT_SCORE = 1.5;
+    private static final int MAX_PENDING = 500;
+
+    private final StudentRepository studentRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildMonitor = new Object();
+    // Catch-up rebuilds run here, off the shared scheduler thread
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(rebuilderThread());
+
+    // Guarded by lock
+    private Index index = new Index();
+    // Changes applied while a rebuild reads its snapshot, replayed onto the new index before it is swapped in
+    private List<StudentChangedEvent> replay;
+    private volatile boolean ready;
+    private final AtomicBoolean stale = new AtomicBoolean();
+
+    @Autowired
+    public StudentSearchIndex(StudentRepository studentRepository) {
+        this.studentRepository = studentRepository;
+    }
+
+    // Until the first rebuild completes, callers search the database instead
+    public boolean isReady() {
+        return ready;
+    }
+
+    // The snapshot is read and indexed without holding the lock, so searches and committed changes go on against
+    // the current index meanwhile. Changes applied during the build are recorded and replayed onto the new index,
+    // under the write lock, right before it replaces the current one
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildMonitor) {
+            lock.writeLock().lock();
+            try {
+                replay = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Index fresh = new Index();
+            try {
+                studentRepository.findAllResponses().forEach(fresh::add);
+                lock.writeLock().lock();
+                try {
+                    fresh.apply(replay);
+                    index = fresh;
+                    ready = true;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    replay = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    // Applied only once the change is committed, so rolled back writes never show up in search. A transaction's
+    // changes are collected in one synchronization; past MAX_PENDING, as in a bulk import, they are dropped and
+    // the index is rebuilt from the database after commit instead
+    @EventListener
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(List.of(event));
+            return;
+        }
+
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(event);
+    }
+
+    // Searches go to the database between a dropped batch of changes and the rebuild that catches up on it
+    @Scheduled(fixedDelayString = "${app.search-index.rebuild-poll-ms:1000}")
+    public void rebuildIfStale() {
+        if (stale.compareAndSet(true, false)) {
+            rebuilder.execute(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException ex) {
+                    stale.set(true); // retried on the next poll
+                    throw ex;
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    private void apply(List<StudentChangedEvent> events) {
+        lock.writeLock().lock();
+        try {
+            index.apply(events);
+            if (replay != null) {
+                replay.addAll(events);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final List<StudentChangedEvent> events = new ArrayList<>();
+        private boolean overflowed;
+
+        private void add(StudentChangedEvent event) {
+            if (overflowed) {
+                return;
+            }
+            events.add(event);
+            if (events.size() > MAX_PENDING) {
+                events.clear();
+                overflowed = true;
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            if (overflowed) {
+                ready = false;
+                stale.set(true);
+            } else {
+                apply(events);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(StudentSearchIndex.this);
+        }
+    }
+
+    // Every query term must match, by prefix or fuzzily, some term of the student; best matches first
+    public List<StudentResponse> search(String query, int limit) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String queryTerm : queryTerms) {
+                Map<Long, Double> termScores = index.match(queryTerm);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(entry -> index.documents.get(entry.getKey()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // One generation of the inverted index, replaced wholesale by a rebuild
+    private static final class Index {
+
+        private final Map<Long, StudentResponse> documents = new HashMap<>();
+        private final Map<Long, Set<String>> termsByStudent = new HashMap<>();
+        private final TreeMap<String, Set<Long>> studentsByTerm = new TreeMap<>();
+        private final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+
+        private void apply(List<StudentChangedEvent> events) {
+            for (StudentChangedEvent event : events) {
+                remove(event.getStudentId());
+                if (event.getType() != ChangeType.DELETED) {
+                    add(event.getStudent());
+                }
+            }
+        }
+
+        // Best score per student for one query term
+        private Map<Long, Double> match(String queryTerm) {
+            Map<Long, Double> scores = new HashMap<>();
+
+            for (Map.Entry<String, Set<Long>> entry : studentsByTerm
+                    .subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, true).entrySet()) {
+                double score = entry.getKey().equals(queryTerm) ? EXACT_SCORE : PREFIX_SCORE;
+                entry.getValue().forEach(id -> scores.merge(id, score, Math::max));
+            }
+
+            Set<String> queryTrigrams = trigrams(queryTerm);
+            Map<String, Integer> sharedTrigrams = new HashMap<>();
+            for (String trigram : queryTrigrams) {
+                for (String term : termsByTrigram.getOrDefault(trigram, Set.of())) {
+                    sharedTrigrams.merge(term, 1, Integer::sum);
+                }
+            }
+            for (Map.Entry<String, Integer> entry : sharedTrigrams.entrySet()) {
+                double similarity = (double) entry.getValue() / Math.max(queryTrigrams.size(), trigrams(entry.getKey()).size());
+                if (similarity >= MIN_SIMILARITY) {
+                    studentsByTerm.get(entry.getKey()).forEach(id -> scores.merge(id, similarity, Math::max));
+                }
+            }
+            return scores;
+        }
+
+        private void add(StudentResponse student) {
+            Set<String> terms = new HashSet<>();
+            terms.addAll(tokenize(student.getFirstName()));
+            terms.addAll(tokenize(student.getLastName()));
+            terms.addAll(tokenize(student.getEmail()));
+            terms.addAll(tokenize(student.getPhoneNumber()));
+
+            documents.put(student.getId(), student);
+            termsByStudent.put(student.getId(), terms);
+            for (String term : terms) {
+                Set<Long> students = studentsByTerm.computeIfAbsent(term, t -> new HashSet<>());
+                if (students.isEmpty()) {
+                    trigrams(term).forEach(trigram -> termsByTrigram.computeIfAbsent(trigram, t -> new HashSet<>()).add(term));
+                }
+                students.add(student.getId());
+            }
+        }
+
+        private void remove(Long studentId) {
+            documents.remove(studentId);
+            Set<String> terms = termsByStudent.remove(studentId);
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms) {
+                Set<Long> students = studentsByTerm.get(term);
+                students.remove(studentId);
+                if (students.isEmpty()) {
+                    studentsByTerm.remove(term);
+                    for (String trigram : trigrams(term)) {
+                        Set<String> trigramTerms = termsByTrigram.get(trigram);
+                        trigramTerms.remove(term);
+                        if (trigramTerms.isEmpty()) {
+                            termsByTrigram.remove(trigram);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // Lower-cased letter and digit runs, so "john.doe@example.com" yields john, doe, example and com
+    public static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String term : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    // Trigrams of the term padded with '$', so the first and last letters weigh in too
+    static Set<String> trigrams(String term) {
+        String padded = "$" + term + "$";
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    private static CustomizableThreadFactory rebuilderThread() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("search-index-rebuild-");
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+}
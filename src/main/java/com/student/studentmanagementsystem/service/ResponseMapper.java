@@ -0,0 +1,52 @@
+package com.student.studentmanagementsystem.service;
+
+import com.student.studentmanagementsystem.dto.StudentResponse;
+import com.student.studentmanagementsystem.dto.SubjectResponse;
+import com.student.studentmanagementsystem.entity.Student;
+import com.student.studentmanagementsystem.entity.Subject;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Entity to DTO conversion shared by the services; stateless, so it can also be benchmarked on its own
+public final class ResponseMapper {
+
+    private ResponseMapper() {
+    }
+
+    public static StudentResponse toStudentResponse(Student student) {
+        StudentResponse response = new StudentResponse();
+        response.setId(student.getId());
+        response.setFirstName(student.getFirstName());
+        response.setLastName(student.getLastName());
+        response.setEmail(student.getEmail());
+        response.setPhoneNumber(student.getPhoneNumber());
+        response.setCreatedAt(student.getCreatedAt());
+        response.setUpdatedAt(student.getUpdatedAt());
+        response.setVersion(student.getVersion());
+        return response;
+    }
+
+    public static StudentResponse toStudentResponseWithSubjects(Student student) {
+        StudentResponse response = toStudentResponse(student);
+
+        Set<SubjectResponse> subjectResponses = student.getSubjects().stream()
+                .map(ResponseMapper::toSubjectResponse)
+                .collect(Collectors.toSet());
+
+        response.setSubjects(subjectResponses);
+        return response;
+    }
+
+    public static SubjectResponse toSubjectResponse(Subject subject) {
+        SubjectResponse response = new SubjectResponse();
+        response.setId(subject.getId());
+        response.setName(subject.getName());
+        response.setDescription(subject.getDescription());
+        response.setCredits(subject.getCredits());
+        response.setCreatedAt(subject.getCreatedAt());
+        response.setUpdatedAt(subject.getUpdatedAt());
+        response.setVersion(subject.getVersion());
+        return response;
+    }
+}
@@ -1,23 +1,58 @@
 package com.student.studentmanagementsystem.service;
 
+import com.student.studentmanagementsystem.dto.BatchImportResponse;
+import com.student.studentmanagementsystem.dto.BulkSubjectAssignmentRequest;
+import com.student.studentmanagementsystem.dto.BulkSubjectAssignmentResponse;
+import com.student.studentmanagementsystem.dto.CursorPageResponse;
+import com.student.studentmanagementsystem.dto.EnrollmentQueryResponse;
+import com.student.studentmanagementsystem.dto.StudentFilter;
 import com.student.studentmanagementsystem.dto.StudentRequest;
 import com.student.studentmanagementsystem.dto.StudentResponse;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface StudentService {
 
     StudentResponse createStudent(StudentRequest studentRequest);
 
+    BatchImportResponse importStudents(Iterator<StudentRequest> studentRequests);
+
     StudentResponse updateStudent(Long studentId, StudentRequest studentRequest);
 
+    StudentResponse updateStudent(Long studentId, StudentRequest studentRequest, String ifMatch);
+
     StudentResponse getStudentById(Long studentId);
 
     List<StudentResponse> getAllStudents();
 
     List<StudentResponse> getAllStudentsWithSubjects();
 
+    String getStudentsListTag(boolean includeSubjects);
+
+    CursorPageResponse<StudentResponse> getStudentsPage(String cursor, int size);
+
+    CursorPageResponse<StudentResponse> getStudentsWithSubjectsPage(String cursor, int size);
+
+    CursorPageResponse<StudentResponse> getStudentsOfSubjectPage(Long subjectId, String cursor, int size);
+
+    EnrollmentQueryResponse queryEnrollments(String expression, String cursor, int size);
+
+    CursorPageResponse<StudentResponse> findStudents(StudentFilter filter, String cursor, int size,
+                                                     boolean includeSubjects);
+
+    List<StudentResponse> searchStudents(String query, int limit);
+
+    void exportStudentsWithSubjects(Consumer<StudentResponse> consumer);
+
     StudentResponse assignSubjectToStudent(Long studentId, Long subjectId);
 
+    StudentResponse unassignSubjectFromStudent(Long studentId, Long subjectId);
+
+    StudentResponse replaceSubjects(Long studentId, List<Long> subjectIds);
+
+    BulkSubjectAssignmentResponse assignSubjectsInBulk(BulkSubjectAssignmentRequest request);
+
     void deleteStudent(Long studentId);
 }
@@ -1,43 +1,111 @@
 package com.student.studentmanagementsystem.service;
 
 
+import com.student.studentmanagementsystem.cache.KnownKeys;
+import com.student.studentmanagementsystem.cache.SubjectCache;
+import com.student.studentmanagementsystem.dto.BatchImportResponse;
+import com.student.studentmanagementsystem.dto.BatchImportRowResult;
+import com.student.studentmanagementsystem.dto.BulkSubjectAssignmentRequest;
+import com.student.studentmanagementsystem.dto.BulkSubjectAssignmentResponse;
+import com.student.studentmanagementsystem.dto.CursorPageResponse;
+import com.student.studentmanagementsystem.dto.StudentCursor;
+import com.student.studentmanagementsystem.dto.EnrollmentQueryResponse;
+import com.student.studentmanagementsystem.dto.EntityTags;
+import com.student.studentmanagementsystem.dto.StudentFilter;
 import com.student.studentmanagementsystem.dto.StudentRequest;
 import com.student.studentmanagementsystem.dto.StudentResponse;
+import com.student.studentmanagementsystem.dto.SubjectAssignmentRequest;
 import com.student.studentmanagementsystem.dto.SubjectResponse;
+import com.student.studentmanagementsystem.dto.TableVersion;
+import com.student.studentmanagementsystem.enrollment.EnrollmentExpression;
+import com.student.studentmanagementsystem.enrollment.EnrollmentIndex;
 import com.student.studentmanagementsystem.entity.Student;
 import com.student.studentmanagementsystem.entity.Subject;
+import com.student.studentmanagementsystem.event.ChangeType;
+import com.student.studentmanagementsystem.event.EnrollmentChangedEvent;
+import com.student.studentmanagementsystem.event.StudentChangedEvent;
 import com.student.studentmanagementsystem.exception.BusinessLogicException;
+import com.student.studentmanagementsystem.exception.PreconditionFailedException;
 import com.student.studentmanagementsystem.exception.ResourceAlreadyExistsException;
 import com.student.studentmanagementsystem.exception.ResourceNotFoundException;
+import com.student.studentmanagementsystem.exception.UniqueKeyViolations;
 import com.student.studentmanagementsystem.repository.StudentRepository;
+import com.student.studentmanagementsystem.repository.StudentSpecifications;
+import com.student.studentmanagementsystem.repository.StudentSubjectRepository;
 import com.student.studentmanagementsystem.repository.SubjectRepository;
+import com.student.studentmanagementsystem.search.StudentSearchIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class StudentServiceImpl implements StudentService {
 
+    private static final int EXPORT_CHUNK_SIZE = 500;
+    private static final int IMPORT_CHUNK_SIZE = 500;
+    private static final int MAX_BULK_ASSIGNMENTS = 10_000;
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     private final StudentRepository studentRepository;
     private final SubjectRepository subjectRepository;
+    private final StudentSubjectRepository studentSubjectRepository;
+    private final SubjectCache subjectCache;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final StudentSearchIndex searchIndex;
+    private final EnrollmentIndex enrollmentIndex;
+    private final KnownKeys knownKeys;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public StudentServiceImpl(StudentRepository studentRepository, SubjectRepository subjectRepository) {
+    public StudentServiceImpl(StudentRepository studentRepository, SubjectRepository subjectRepository,
+                              StudentSubjectRepository studentSubjectRepository, SubjectCache subjectCache,
+                              EntityManager entityManager, Validator validator, StudentSearchIndex searchIndex,
+                              EnrollmentIndex enrollmentIndex, KnownKeys knownKeys,
+                              ApplicationEventPublisher eventPublisher) {
         this.studentRepository = studentRepository;
         this.subjectRepository = subjectRepository;
+        this.studentSubjectRepository = studentSubjectRepository;
+        this.subjectCache = subjectCache;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.searchIndex = searchIndex;
+        this.enrollmentIndex = enrollmentIndex;
+        this.knownKeys = knownKeys;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     public StudentResponse createStudent(StudentRequest studentRequest) {
-        // Business validation - check if email already exists
-        if (studentRepository.existsByEmail(studentRequest.getEmail())) {
-            throw new ResourceAlreadyExistsException(
-                    "Student with email " + studentRequest.getEmail() + " already exists"
-            );
+        // Business validation - the unique constraint on email decides, a pre-check only runs for emails
+        // the known-keys filter may have seen
+        if (knownKeys.mightHaveEmail(studentRequest.getEmail()) &&
+                studentRepository.existsByEmail(studentRequest.getEmail())) {
+            throw emailAlreadyExists(studentRequest.getEmail());
         }
 
         // Create new student entity
@@ -47,24 +115,62 @@ public class StudentServiceImpl implements StudentService {
         student.setEmail(studentRequest.getEmail());
         student.setPhoneNumber(studentRequest.getPhoneNumber());
 
-        // Save student
-        Student savedStudent = studentRepository.save(student);
+        // Save student - flushed here so a duplicate email fails inside this method and becomes a 409
+        Student savedStudent;
+        try {
+            savedStudent = studentRepository.saveAndFlush(student);
+        } catch (DataIntegrityViolationException ex) {
+            throw translateEmailViolation(ex, studentRequest.getEmail());
+        }
 
-        return convertToStudentResponse(savedStudent);
+        StudentResponse response = ResponseMapper.toStudentResponse(savedStudent);
+        eventPublisher.publishEvent(new StudentChangedEvent(ChangeType.CREATED, response.getId(), response));
+        return response;
+    }
+
+    @Override
+    public BatchImportResponse importStudents(Iterator<StudentRequest> studentRequests) {
+        BatchImportResponse report = new BatchImportResponse();
+        List<StudentRequest> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+
+        // Read the payload lazily, one chunk at a time
+        while (studentRequests.hasNext()) {
+            chunk.add(studentRequests.next());
+            if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                importChunk(chunk, report);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, report);
+        }
+
+        return report;
     }
 
     @Override
     public StudentResponse updateStudent(Long studentId, StudentRequest studentRequest) {
-        // Find existing student
+        return updateStudent(studentId, studentRequest, null);
+    }
+
+    @Override
+    public StudentResponse updateStudent(Long studentId, StudentRequest studentRequest, String ifMatch) {
+        // Find existing student - its subjects collection stays uninitialized, the ETag only needs the subject ids
         Student existingStudent = studentRepository.findById(studentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
+        Map<Long, List<Long>> subjectIds = studentSubjectRepository.findSubjectIdsByStudentIds(List.of(studentId));
+
+        // Conditional update - refuse when the client edited a representation that is no longer current
+        StudentResponse current = ResponseMapper.toStudentResponse(existingStudent);
+        attachSubjects(List.of(current), subjectIds);
+        if (!EntityTags.matches(ifMatch, EntityTags.of(current))) {
+            throw new PreconditionFailedException("Student with id " + studentId + " was modified since it was read");
+        }
 
-        // Business validation - check if email is being changed to existing email
+        // Business validation - a changed email is pre-checked only when the known-keys filter may have seen it
         if (!existingStudent.getEmail().equals(studentRequest.getEmail()) &&
+                knownKeys.mightHaveEmail(studentRequest.getEmail()) &&
                 studentRepository.existsByEmail(studentRequest.getEmail())) {
-            throw new ResourceAlreadyExistsException(
-                    "Student with email " + studentRequest.getEmail() + " already exists"
-            );
+            throw emailAlreadyExists(studentRequest.getEmail());
         }
 
         // Update student fields
@@ -73,103 +179,544 @@ public class StudentServiceImpl implements StudentService {
         existingStudent.setEmail(studentRequest.getEmail());
         existingStudent.setPhoneNumber(studentRequest.getPhoneNumber());
 
-        // Save updated student
-        Student updatedStudent = studentRepository.save(existingStudent);
+        // Save updated student - flushed now so the response carries the bumped version
+        Student updatedStudent;
+        try {
+            updatedStudent = studentRepository.saveAndFlush(existingStudent);
+        } catch (DataIntegrityViolationException ex) {
+            throw translateEmailViolation(ex, studentRequest.getEmail());
+        } catch (OptimisticLockingFailureException ex) {
+            // Another update committed after the If-Match check passed, the client's tag is stale after all
+            if (ifMatch != null) {
+                throw new PreconditionFailedException("Student with id " + studentId + " was modified since it was read");
+            }
+            throw ex;
+        }
 
-        return convertToStudentResponse(updatedStudent);
+        StudentResponse response = ResponseMapper.toStudentResponse(updatedStudent);
+        attachSubjects(List.of(response), subjectIds);
+        eventPublisher.publishEvent(new StudentChangedEvent(ChangeType.UPDATED, response.getId(), response));
+        return response;
     }
 
     @Override
     @Transactional(readOnly = true)
     public StudentResponse getStudentById(Long studentId) {
+        if (enrollmentIndex.isReady()) {
+            // Subject ids from the enrollment index and subjects from the cache, no JOIN FETCH
+            Student student = studentRepository.findById(studentId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
+            StudentResponse response = ResponseMapper.toStudentResponse(student);
+            attachSubjects(List.of(response), enrollmentIndex.subjectIdsOf(List.of(studentId)));
+            return response;
+        }
+
         Student student = studentRepository.findByIdWithSubjects(studentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
 
-        return convertToStudentResponseWithSubjects(student);
+        return ResponseMapper.toStudentResponseWithSubjects(student);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<StudentResponse> getAllStudents() {
-        List<Student> students = studentRepository.findAll();
-        return students.stream()
-                .map(this::convertToStudentResponse)
-                .collect(Collectors.toList());
+        return studentRepository.findAllResponses();
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<StudentResponse> getAllStudentsWithSubjects() {
-        List<Student> students = studentRepository.findAllWithSubjects();
-        return students.stream()
-                .map(this::convertToStudentResponseWithSubjects)
+        // Students and (student, subject) pairs are read separately and stitched, instead of one row per pair
+        List<StudentResponse> students = studentRepository.findAllResponses();
+        attachSubjects(students, enrollmentIndex.isReady()
+                ? enrollmentIndex.subjectIdsOf(students.stream().map(StudentResponse::getId).toList())
+                : studentSubjectRepository.findAllSubjectIds());
+        return students;
+    }
+
+    // The join table has no timestamps. Unless enrollment writes touch students.updated_at, the latest change feed
+    // sequence covers it: every enrollment change writes an outbox row. A change that commits a lower sequence
+    // after a higher one is only picked up with the next change
+    @Override
+    @Transactional(readOnly = true)
+    public String getStudentsListTag(boolean includeSubjects) {
+        TableVersion students = studentSubjectRepository.touchesStudents()
+                ? studentRepository.findTableVersion()
+                : studentRepository.findTableVersionWithChangeSequence();
+        if (!includeSubjects) {
+            return EntityTags.ofTables(students);
+        }
+        Map<Long, SubjectResponse> subjects = subjectCache.getAllById(subjectRepository::findAllResponses);
+        return EntityTags.ofTables(students, EntityTags.versionOf(subjects.values()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<StudentResponse> getStudentsPage(String cursor, int size) {
+        CursorPageResponse.validatePageSize(size);
+
+        // Fetch one extra row to know whether another page exists
+        List<StudentResponse> students = studentRepository
+                .findResponsesAfter(CursorPageResponse.decodeCursor(cursor), Limit.of(size + 1));
+
+        return CursorPageResponse.of(students, size, StudentResponse::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<StudentResponse> getStudentsOfSubjectPage(Long subjectId, String cursor, int size) {
+        CursorPageResponse.validatePageSize(size);
+
+        // Subject existence comes from the cache, an unknown id is a 404 rather than an empty roster
+        subjectCache.getById(subjectId, () -> subjectRepository.findById(subjectId).map(ResponseMapper::toSubjectResponse))
+                .orElseThrow(() -> new ResourceNotFoundException("Subject not found with id: " + subjectId));
+
+        // Fetch one extra row to know whether another page exists
+        long after = CursorPageResponse.decodeCursor(cursor);
+        List<StudentResponse> students;
+        if (enrollmentIndex.isReady()) {
+            // The page of ids comes from the enrollment index, the rows by primary key
+            List<Long> ids = enrollmentIndex.studentsAfter(subjectId, after, size + 1);
+            students = ids.isEmpty() ? List.of() : studentRepository.findResponsesByIdIn(ids);
+        } else {
+            students = studentRepository.findResponsesBySubjectAfter(subjectId, after, Limit.of(size + 1));
+        }
+
+        return CursorPageResponse.of(students, size, StudentResponse::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EnrollmentQueryResponse queryEnrollments(String expression, String cursor, int size) {
+        CursorPageResponse.validatePageSize(size);
+        EnrollmentExpression parsed = EnrollmentExpression.parse(expression);
+
+        Map<Long, SubjectResponse> subjects = subjectCache.getAllById(subjectRepository::findAllResponses);
+        List<Long> missing = parsed.getSubjectIds().stream().filter(id -> !subjects.containsKey(id)).sorted()
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Subjects not found with ids: " + missing);
+        }
+
+        // Rosters from the enrollment index, or from one join table query when it is off
+        long[] matches;
+        if (enrollmentIndex.isReady()) {
+            matches = parsed.evaluate(enrollmentIndex::studentsOf);
+        } else {
+            Map<Long, long[]> rosters = studentSubjectRepository.findStudentIdsBySubjectIds(parsed.getSubjectIds());
+            matches = parsed.evaluate(subjectId -> rosters.getOrDefault(subjectId, new long[0]));
+        }
+
+        // Keyset page over the ascending result, the cursor is the last student id returned
+        int from = Arrays.binarySearch(matches, CursorPageResponse.decodeCursor(cursor));
+        from = from >= 0 ? from + 1 : -from - 1;
+        int to = Math.min(from + size, matches.length);
+        List<Long> studentIds = Arrays.stream(matches, from, to).boxed().collect(Collectors.toList());
+        String nextCursor = to < matches.length ? CursorPageResponse.encodeCursor(matches[to - 1]) : null;
+        return new EnrollmentQueryResponse(matches.length, studentIds, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<StudentResponse> findStudents(StudentFilter filter, String cursor, int size,
+                                                            boolean includeSubjects) {
+        CursorPageResponse.validatePageSize(size);
+
+        Specification<Student> spec = StudentSpecifications.matching(filter);
+        // The cursor carries the sort values to resume after, no need to read the row it came from
+        StudentCursor after = StudentCursor.decode(cursor, filter.getSort());
+        if (after != null) {
+            spec = spec.and(StudentSpecifications.after(after));
+        }
+
+        List<StudentResponse> students = studentRepository.findBy(spec, query -> query
+                        .sortBy(StudentSpecifications.sortOf(filter.getSort()))
+                        .limit(size + 1)
+                        .all())
+                .stream()
+                .map(ResponseMapper::toStudentResponse)
+                .collect(Collectors.toList());
+
+        CursorPageResponse<StudentResponse> page = CursorPageResponse.withCursor(students, size,
+                last -> StudentCursor.after(filter.getSort(), last).encode());
+        if (includeSubjects) {
+            List<Long> ids = page.getItems().stream().map(StudentResponse::getId).collect(Collectors.toList());
+            attachSubjects(page.getItems(), subjectIdsOf(ids));
+        }
+        return page;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<StudentResponse> searchStudents(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new BusinessLogicException("Search query must not be empty");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new BusinessLogicException("Search limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+
+        // Served from the in-memory index, no database round trip
+        if (searchIndex.isReady()) {
+            return searchIndex.search(query, limit);
+        }
+
+        // Index still loading - substring matching in the database, without ranking or typo tolerance
+        List<String> terms = StudentSearchIndex.tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        return studentRepository.findBy(StudentSpecifications.containsAllTerms(terms),
+                        q -> q.sortBy(Sort.by("id")).limit(limit).all())
+                .stream()
+                .map(ResponseMapper::toStudentResponse)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<StudentResponse> getStudentsWithSubjectsPage(String cursor, int size) {
+        CursorPageResponse.validatePageSize(size);
+
+        // Load the page of students first, then the subject ids of just those students from the join table
+        CursorPageResponse<StudentResponse> page = CursorPageResponse.of(
+                studentRepository.findResponsesAfter(CursorPageResponse.decodeCursor(cursor), Limit.of(size + 1)),
+                size, StudentResponse::getId);
+
+        List<Long> ids = page.getItems().stream().map(StudentResponse::getId).collect(Collectors.toList());
+        attachSubjects(page.getItems(), subjectIdsOf(ids));
+        return page;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportStudentsWithSubjects(Consumer<StudentResponse> consumer) {
+        try (Stream<Student> students = studentRepository.streamAllOrderById()) {
+            List<Student> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+            students.forEach(student -> {
+                chunk.add(student);
+                if (chunk.size() == EXPORT_CHUNK_SIZE) {
+                    exportChunk(chunk, consumer);
+                }
+            });
+            if (!chunk.isEmpty()) {
+                exportChunk(chunk, consumer);
+            }
+        }
+    }
+
     @Override
     public StudentResponse assignSubjectToStudent(Long studentId, Long subjectId) {
         // Find student
-        Student student = studentRepository.findByIdWithSubjects(studentId)
+        Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
 
         // Find subject
-        Subject subject = subjectRepository.findById(subjectId)
+        SubjectResponse subject = subjectCache.getById(subjectId,
+                        () -> subjectRepository.findById(subjectId).map(ResponseMapper::toSubjectResponse))
                 .orElseThrow(() -> new ResourceNotFoundException("Subject not found with id: " + subjectId));
 
-        // Business validation - check if subject is already assigned to student
-        if (student.getSubjects().contains(subject)) {
+        // Business validation - check the join table instead of loading the student's subjects
+        if (studentRepository.existsByStudentIdAndSubjectId(studentId, subjectId)) {
             throw new BusinessLogicException(
                     "Subject '" + subject.getName() + "' is already assigned to student"
             );
         }
 
-        // Assign subject to student
-        student.addSubject(subject);
-        Student updatedStudent = studentRepository.save(student);
+        // Assign subject to student - insert the join row only, the subjects collection is never initialized
+        List<SubjectAssignmentRequest> added = List.of(new SubjectAssignmentRequest(studentId, subjectId));
+        studentSubjectRepository.insertAll(added);
+        eventPublisher.publishEvent(EnrollmentChangedEvent.added(added));
 
-        return convertToStudentResponseWithSubjects(updatedStudent);
+        StudentResponse response = ResponseMapper.toStudentResponse(student);
+        attachSubjects(List.of(response), studentSubjectRepository.findSubjectIdsByStudentIds(List.of(studentId)));
+        return response;
     }
 
     @Override
-    public void deleteStudent(Long studentId) {
+    public StudentResponse unassignSubjectFromStudent(Long studentId, Long subjectId) {
+        // Find student
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
 
-        studentRepository.delete(student);
-    }
+        // Delete the join row only, 0 rows means there was nothing to unassign
+        if (studentSubjectRepository.delete(studentId, subjectId) == 0) {
+            SubjectResponse subject = subjectCache.getById(subjectId,
+                            () -> subjectRepository.findById(subjectId).map(ResponseMapper::toSubjectResponse))
+                    .orElseThrow(() -> new ResourceNotFoundException("Subject not found with id: " + subjectId));
+            throw new BusinessLogicException(
+                    "Subject '" + subject.getName() + "' is not assigned to student"
+            );
+        }
+        eventPublisher.publishEvent(EnrollmentChangedEvent.removed(
+                List.of(new SubjectAssignmentRequest(studentId, subjectId))));
 
-    // Helper methods for entity to DTO conversion
-    private StudentResponse convertToStudentResponse(Student student) {
-        StudentResponse response = new StudentResponse();
-        response.setId(student.getId());
-        response.setFirstName(student.getFirstName());
-        response.setLastName(student.getLastName());
-        response.setEmail(student.getEmail());
-        response.setPhoneNumber(student.getPhoneNumber());
-        response.setCreatedAt(student.getCreatedAt());
-        response.setUpdatedAt(student.getUpdatedAt());
+        StudentResponse response = ResponseMapper.toStudentResponse(student);
+        attachSubjects(List.of(response), studentSubjectRepository.findSubjectIdsByStudentIds(List.of(studentId)));
         return response;
     }
 
-    private StudentResponse convertToStudentResponseWithSubjects(Student student) {
-        StudentResponse response = convertToStudentResponse(student);
+    @Override
+    public StudentResponse replaceSubjects(Long studentId, List<Long> subjectIds) {
+        // Business validation - bounded list of ids, an empty list unassigns everything
+        if (subjectIds == null || subjectIds.stream().anyMatch(Objects::isNull)) {
+            throw new BusinessLogicException("Subject ids must be given and must not be null");
+        }
+        if (subjectIds.size() > MAX_BULK_ASSIGNMENTS) {
+            throw new BusinessLogicException(
+                    "Cannot assign more than " + MAX_BULK_ASSIGNMENTS + " subjects in one request");
+        }
+        Set<Long> wanted = new LinkedHashSet<>(subjectIds);
 
-        Set<SubjectResponse> subjectResponses = student.getSubjects().stream()
-                .map(this::convertToSubjectResponse)
-                .collect(Collectors.toSet());
+        // Find student
+        Student student = studentRepository.findById(studentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
+
+        // Validate subject existence with one query
+        if (!wanted.isEmpty()) {
+            Set<Long> existingSubjectIds = new HashSet<>(subjectRepository.findExistingIds(wanted));
+            List<Long> missing = wanted.stream().filter(id -> !existingSubjectIds.contains(id)).sorted()
+                    .collect(Collectors.toList());
+            if (!missing.isEmpty()) {
+                throw new ResourceNotFoundException("Subjects not found with ids: " + missing);
+            }
+        }
+
+        // Diff against the join table - unchanged rows are neither deleted nor rewritten
+        Set<Long> current = new HashSet<>(studentSubjectRepository.findSubjectIdsByStudentIds(List.of(studentId))
+                .getOrDefault(studentId, List.of()));
+        List<SubjectAssignmentRequest> toDelete = current.stream()
+                .filter(subjectId -> !wanted.contains(subjectId))
+                .map(subjectId -> new SubjectAssignmentRequest(studentId, subjectId))
+                .collect(Collectors.toList());
+        List<SubjectAssignmentRequest> toInsert = wanted.stream()
+                .filter(subjectId -> !current.contains(subjectId))
+                .map(subjectId -> new SubjectAssignmentRequest(studentId, subjectId))
+                .collect(Collectors.toList());
 
-        response.setSubjects(subjectResponses);
+        if (!toDelete.isEmpty()) {
+            studentSubjectRepository.deleteAll(toDelete);
+        }
+        if (!toInsert.isEmpty()) {
+            studentSubjectRepository.insertAll(toInsert);
+        }
+        if (!toDelete.isEmpty() || !toInsert.isEmpty()) {
+            eventPublisher.publishEvent(new EnrollmentChangedEvent(toInsert, toDelete));
+        }
+
+        StudentResponse response = ResponseMapper.toStudentResponse(student);
+        attachSubjects(List.of(response), Map.of(studentId, new ArrayList<>(wanted)));
         return response;
     }
 
-    private SubjectResponse convertToSubjectResponse(Subject subject) {
-        SubjectResponse response = new SubjectResponse();
-        response.setId(subject.getId());
-        response.setName(subject.getName());
-        response.setDescription(subject.getDescription());
-        response.setCredits(subject.getCredits());
-        response.setCreatedAt(subject.getCreatedAt());
-        response.setUpdatedAt(subject.getUpdatedAt());
+    @Override
+    public BulkSubjectAssignmentResponse assignSubjectsInBulk(BulkSubjectAssignmentRequest request) {
+        // Expand both request shapes into distinct (student, subject) pairs
+        Set<SubjectAssignmentRequest> pairs = new LinkedHashSet<>();
+        if (request.getAssignments() != null) {
+            pairs.addAll(request.getAssignments());
+        }
+        if (request.getSubjectId() != null && request.getStudentIds() != null) {
+            request.getStudentIds().forEach(studentId ->
+                    pairs.add(new SubjectAssignmentRequest(studentId, request.getSubjectId())));
+        }
+
+        // Business validation - bounded, non-empty request
+        if (pairs.isEmpty()) {
+            throw new BusinessLogicException("No subject assignments given");
+        }
+        if (pairs.size() > MAX_BULK_ASSIGNMENTS) {
+            throw new BusinessLogicException(
+                    "Cannot assign more than " + MAX_BULK_ASSIGNMENTS + " subjects in one request");
+        }
+
+        Set<Long> studentIds = pairs.stream().map(SubjectAssignmentRequest::getStudentId).collect(Collectors.toSet());
+        Set<Long> subjectIds = pairs.stream().map(SubjectAssignmentRequest::getSubjectId).collect(Collectors.toSet());
+
+        // Validate existence with one query per table
+        Set<Long> existingStudentIds = new HashSet<>(studentRepository.findExistingIds(studentIds));
+        Set<Long> existingSubjectIds = new HashSet<>(subjectRepository.findExistingIds(subjectIds));
+
+        BulkSubjectAssignmentResponse response = new BulkSubjectAssignmentResponse();
+        response.setRequested(pairs.size());
+        studentIds.stream().filter(id -> !existingStudentIds.contains(id)).sorted()
+                .forEach(response.getMissingStudentIds()::add);
+        subjectIds.stream().filter(id -> !existingSubjectIds.contains(id)).sorted()
+                .forEach(response.getMissingSubjectIds()::add);
+
+        List<SubjectAssignmentRequest> candidates = pairs.stream()
+                .filter(pair -> existingStudentIds.contains(pair.getStudentId())
+                        && existingSubjectIds.contains(pair.getSubjectId()))
+                .collect(Collectors.toList());
+        if (candidates.isEmpty()) {
+            return response;
+        }
+
+        // Business validation - report pairs that are already assigned, read from the join table only
+        Set<SubjectAssignmentRequest> alreadyAssigned = studentSubjectRepository.findExistingPairs(
+                existingStudentIds, existingSubjectIds);
+        List<SubjectAssignmentRequest> toInsert = new ArrayList<>();
+        for (SubjectAssignmentRequest pair : candidates) {
+            if (alreadyAssigned.contains(pair)) {
+                response.getDuplicates().add(pair);
+            } else {
+                toInsert.add(pair);
+            }
+        }
+
+        studentSubjectRepository.insertAll(toInsert);
+        if (!toInsert.isEmpty()) {
+            eventPublisher.publishEvent(EnrollmentChangedEvent.added(toInsert));
+        }
+        response.setAssigned(toInsert.size());
         return response;
     }
+
+    @Override
+    public void deleteStudent(Long studentId) {
+        // The join rows go with the student, read them first so enrollment listeners see what was removed.
+        // The read locks them, so an assignment committing between the read and the delete cannot be missed
+        List<SubjectAssignmentRequest> removed = studentSubjectRepository
+                .findSubjectIdsForUpdate(studentId)
+                .stream()
+                .map(subjectId -> new SubjectAssignmentRequest(studentId, subjectId))
+                .collect(Collectors.toList());
+
+        // Bulk delete - the entity is never loaded, 0 rows means it did not exist
+        if (studentRepository.deleteByIdReturningCount(studentId) == 0) {
+            throw new ResourceNotFoundException("Student not found with id: " + studentId);
+        }
+
+        eventPublisher.publishEvent(new StudentChangedEvent(ChangeType.DELETED, studentId, null));
+        if (!removed.isEmpty()) {
+            eventPublisher.publishEvent(EnrollmentChangedEvent.removed(removed));
+        }
+    }
+
+    // Imports one chunk: one IN query for the emails, then batched inserts for the valid rows
+    private void importChunk(List<StudentRequest> chunk, BatchImportResponse report) {
+        int firstIndex = report.getResults().size();
+
+        Set<String> emails = chunk.stream()
+                .map(StudentRequest::getEmail)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> takenEmails = new HashSet<>();
+        if (!emails.isEmpty()) {
+            studentRepository.findExistingEmails(emails).forEach(email -> takenEmails.add(normalizeEmail(email)));
+        }
+
+        List<BatchImportRowResult> createdRows = new ArrayList<>();
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            StudentRequest request = chunk.get(i);
+            int index = firstIndex + i;
+
+            // Business validation - same constraints as a single create
+            Set<ConstraintViolation<StudentRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "));
+                report.addResult(new BatchImportRowResult(
+                        index, BatchImportRowResult.Status.INVALID, null, request.getEmail(), message));
+                continue;
+            }
+
+            // Business validation - email must be new to the database and to the payload
+            if (!takenEmails.add(normalizeEmail(request.getEmail()))) {
+                report.addResult(new BatchImportRowResult(index, BatchImportRowResult.Status.DUPLICATE, null,
+                        request.getEmail(), "Student with email " + request.getEmail() + " already exists"));
+                continue;
+            }
+
+            Student student = new Student();
+            student.setFirstName(request.getFirstName());
+            student.setLastName(request.getLastName());
+            student.setEmail(request.getEmail());
+            student.setPhoneNumber(request.getPhoneNumber());
+            students.add(student);
+
+            BatchImportRowResult row = new BatchImportRowResult(
+                    index, BatchImportRowResult.Status.CREATED, null, request.getEmail(), null);
+            createdRows.add(row);
+            report.addResult(row);
+        }
+
+        // Sequence ids are assigned on persist, the flush sends the inserts as JDBC batches
+        studentRepository.saveAll(students);
+        studentRepository.flush();
+        for (int i = 0; i < students.size(); i++) {
+            Student student = students.get(i);
+            createdRows.get(i).setId(student.getId());
+            eventPublisher.publishEvent(new StudentChangedEvent(
+                    ChangeType.CREATED, student.getId(), ResponseMapper.toStudentResponse(student)));
+        }
+
+        chunk.clear();
+        entityManager.clear();
+    }
+
+    // MySQL compares emails case-insensitively, so the in-memory duplicate check does too
+    private String normalizeEmail(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    // Writes one chunk of streamed students, loading their subjects with a single IN query
+    private void exportChunk(List<Student> chunk, Consumer<StudentResponse> consumer) {
+        List<Long> ids = chunk.stream().map(Student::getId).collect(Collectors.toList());
+
+        List<StudentResponse> responses = chunk.stream()
+                .map(ResponseMapper::toStudentResponse)
+                .collect(Collectors.toList());
+        attachSubjects(responses, subjectIdsOf(ids));
+        responses.forEach(consumer);
+
+        // Detach everything read so far so the persistence context does not grow with the export
+        chunk.clear();
+        entityManager.clear();
+    }
+
+    private ResourceAlreadyExistsException emailAlreadyExists(String email) {
+        return new ResourceAlreadyExistsException("Student with email " + email + " already exists");
+    }
+
+    // Only a duplicate on the email constraint is a 409, any other integrity error goes out unchanged
+    private RuntimeException translateEmailViolation(DataIntegrityViolationException ex, String email) {
+        if (UniqueKeyViolations.isViolationOf(ex, Student.EMAIL_CONSTRAINT)) {
+            return emailAlreadyExists(email);
+        }
+        return ex;
+    }
+
+    // Read paths only; writes re-read the join table since the index moves after commit
+    private Map<Long, List<Long>> subjectIdsOf(List<Long> studentIds) {
+        if (enrollmentIndex.isReady()) {
+            return enrollmentIndex.subjectIdsOf(studentIds);
+        }
+        return studentSubjectRepository.findSubjectIdsByStudentIds(studentIds);
+    }
+
+    // Stitches subjects onto students from their subject ids, resolving the ids against the cached subject snapshot
+    private void attachSubjects(List<StudentResponse> students, Map<Long, List<Long>> subjectIdsByStudent) {
+        Map<Long, SubjectResponse> subjects = subjectCache.getAllById(subjectRepository::findAllResponses);
+
+        for (StudentResponse student : students) {
+            Set<SubjectResponse> studentSubjects = new LinkedHashSet<>();
+            for (Long subjectId : subjectIdsByStudent.getOrDefault(student.getId(), List.of())) {
+                SubjectResponse subject = subjects.get(subjectId);
+                if (subject == null) {
+                    // Subject created after the snapshot was taken
+                    subject = subjectCache.getById(subjectId,
+                                    () -> subjectRepository.findById(subjectId).map(ResponseMapper::toSubjectResponse))
+                            .orElse(null);
+                }
+                if (subject != null) {
+                    studentSubjects.add(subject);
+                }
+            }
+            student.setSubjects(studentSubjects);
+        }
+    }
 }
\ No newline at end of file
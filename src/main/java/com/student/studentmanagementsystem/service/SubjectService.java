@@ -1,7 +1,9 @@
 package com.student.studentmanagementsystem.service;
 
+import com.student.studentmanagementsystem.dto.CursorPageResponse;
 import com.student.studentmanagementsystem.dto.SubjectRequest;
 import com.student.studentmanagementsystem.dto.SubjectResponse;
+import com.student.studentmanagementsystem.dto.SubjectStatsResponse;
 
 import java.util.List;
 
@@ -11,9 +13,21 @@ public interface SubjectService {
 
     SubjectResponse updateSubject(Long subjectId, SubjectRequest subjectRequest);
 
+    SubjectResponse updateSubject(Long subjectId, SubjectRequest subjectRequest, String ifMatch);
+
     SubjectResponse getSubjectById(Long subjectId);
 
+    SubjectResponse getSubjectByName(String name);
+
     List<SubjectResponse> getAllSubjects();
 
+    String getSubjectsListTag();
+
+    CursorPageResponse<SubjectResponse> getSubjectsPage(String cursor, int size);
+
+    SubjectStatsResponse getSubjectStats(Long subjectId);
+
+    List<SubjectStatsResponse> getSubjectStats(List<Long> subjectIds);
+
     void deleteSubject(Long subjectId);
 }
\ No newline at end of file
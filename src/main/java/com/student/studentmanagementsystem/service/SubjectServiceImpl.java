@@ -1,17 +1,31 @@
 package com.student.studentmanagementsystem.service;
 
 
+import com.student.studentmanagementsystem.cache.KnownKeys;
+import com.student.studentmanagementsystem.cache.SubjectCache;
+import com.student.studentmanagementsystem.dto.CursorPageResponse;
+import com.student.studentmanagementsystem.dto.EntityTags;
 import com.student.studentmanagementsystem.dto.SubjectRequest;
 import com.student.studentmanagementsystem.dto.SubjectResponse;
+import com.student.studentmanagementsystem.dto.SubjectStatsResponse;
+import com.student.studentmanagementsystem.enrollment.EnrollmentCounter;
 import com.student.studentmanagementsystem.entity.Subject;
+import com.student.studentmanagementsystem.event.ChangeType;
+import com.student.studentmanagementsystem.event.SubjectChangedEvent;
 import com.student.studentmanagementsystem.exception.BusinessLogicException;
+import com.student.studentmanagementsystem.exception.PreconditionFailedException;
 import com.student.studentmanagementsystem.exception.ResourceAlreadyExistsException;
 import com.student.studentmanagementsystem.exception.ResourceNotFoundException;
+import com.student.studentmanagementsystem.exception.UniqueKeyViolations;
 import com.student.studentmanagementsystem.repository.SubjectRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,19 +33,29 @@ import java.util.stream.Collectors;
 public class SubjectServiceImpl implements SubjectService {
 
     private final SubjectRepository subjectRepository;
+    private final SubjectCache subjectCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EnrollmentCounter enrollmentCounter;
+    private final KnownKeys knownKeys;
 
     @Autowired
-    public SubjectServiceImpl(SubjectRepository subjectRepository) {
+    public SubjectServiceImpl(SubjectRepository subjectRepository, SubjectCache subjectCache,
+                              ApplicationEventPublisher eventPublisher, EnrollmentCounter enrollmentCounter,
+                              KnownKeys knownKeys) {
         this.subjectRepository = subjectRepository;
+        this.subjectCache = subjectCache;
+        this.eventPublisher = eventPublisher;
+        this.enrollmentCounter = enrollmentCounter;
+        this.knownKeys = knownKeys;
     }
 
     @Override
     public SubjectResponse createSubject(SubjectRequest subjectRequest) {
-        // Business validation - check if subject name already exists
-        if (subjectRepository.existsByName(subjectRequest.getName())) {
-            throw new ResourceAlreadyExistsException(
-                    "Subject with name '" + subjectRequest.getName() + "' already exists"
-            );
+        // Business validation - the unique constraint on name decides, names the known-keys filter
+        // may have seen are pre-checked
+        if (knownKeys.mightHaveSubjectName(subjectRequest.getName()) &&
+                subjectRepository.existsByName(subjectRequest.getName())) {
+            throw nameAlreadyExists(subjectRequest.getName());
         }
 
         // Create new subject entity
@@ -40,81 +64,183 @@ public class SubjectServiceImpl implements SubjectService {
         subject.setDescription(subjectRequest.getDescription());
         subject.setCredits(subjectRequest.getCredits());
 
-        // Save subject
-        Subject savedSubject = subjectRepository.save(subject);
+        // Save subject - flushed here so a duplicate name fails inside this method
+        Subject savedSubject;
+        try {
+            savedSubject = subjectRepository.saveAndFlush(subject);
+        } catch (DataIntegrityViolationException ex) {
+            throw translateNameViolation(ex, subjectRequest.getName());
+        }
 
-        return convertToSubjectResponse(savedSubject);
+        SubjectResponse response = ResponseMapper.toSubjectResponse(savedSubject);
+        eventPublisher.publishEvent(new SubjectChangedEvent(ChangeType.CREATED, response.getId(), null, response));
+        return response;
     }
 
     @Override
     public SubjectResponse updateSubject(Long subjectId, SubjectRequest subjectRequest) {
+        return updateSubject(subjectId, subjectRequest, null);
+    }
+
+    @Override
+    public SubjectResponse updateSubject(Long subjectId, SubjectRequest subjectRequest, String ifMatch) {
         // Find existing subject
         Subject existingSubject = subjectRepository.findById(subjectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Subject not found with id: " + subjectId));
 
-        // Business validation - check if name is being changed to existing name
+        // Conditional update - refuse when the client edited a representation that is no longer current
+        if (!EntityTags.matches(ifMatch, EntityTags.of(ResponseMapper.toSubjectResponse(existingSubject)))) {
+            throw new PreconditionFailedException("Subject with id " + subjectId + " was modified since it was read");
+        }
+
+        // Business validation - a new name is pre-checked only when the known-keys filter may have seen it
         if (!existingSubject.getName().equals(subjectRequest.getName()) &&
+                knownKeys.mightHaveSubjectName(subjectRequest.getName()) &&
                 subjectRepository.existsByName(subjectRequest.getName())) {
-            throw new ResourceAlreadyExistsException(
-                    "Subject with name '" + subjectRequest.getName() + "' already exists"
-            );
+            throw nameAlreadyExists(subjectRequest.getName());
         }
 
         // Update subject fields
+        String previousName = existingSubject.getName();
         existingSubject.setName(subjectRequest.getName());
         existingSubject.setDescription(subjectRequest.getDescription());
         existingSubject.setCredits(subjectRequest.getCredits());
 
-        // Save updated subject
-        Subject updatedSubject = subjectRepository.save(existingSubject);
+        // Save updated subject - flushed now so the response, and the cache, get the bumped version
+        Subject updatedSubject;
+        try {
+            updatedSubject = subjectRepository.saveAndFlush(existingSubject);
+        } catch (DataIntegrityViolationException ex) {
+            throw translateNameViolation(ex, subjectRequest.getName());
+        }
 
-        return convertToSubjectResponse(updatedSubject);
+        SubjectResponse response = ResponseMapper.toSubjectResponse(updatedSubject);
+        eventPublisher.publishEvent(new SubjectChangedEvent(ChangeType.UPDATED, subjectId, previousName, response));
+        return response;
     }
 
+    // Cached reads join a caller's transaction but do not start one, so cache hits never take a connection
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public SubjectResponse getSubjectById(Long subjectId) {
-        Subject subject = subjectRepository.findById(subjectId)
+        return subjectCache.getById(subjectId, () -> subjectRepository.findById(subjectId).map(ResponseMapper::toSubjectResponse))
                 .orElseThrow(() -> new ResourceNotFoundException("Subject not found with id: " + subjectId));
+    }
 
-        return convertToSubjectResponse(subject);
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public SubjectResponse getSubjectByName(String name) {
+        return subjectCache.getByName(name, () -> subjectRepository.findByName(name).map(ResponseMapper::toSubjectResponse))
+                .orElseThrow(() -> new ResourceNotFoundException("Subject not found with name: " + name));
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<SubjectResponse> getAllSubjects() {
-        List<Subject> subjects = subjectRepository.findAll();
+        return subjectCache.getAll(this::loadAllSubjects);
+    }
+
+    // Derived from the cached snapshot, so revalidating a warm list costs no query at all
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public String getSubjectsListTag() {
+        return EntityTags.ofTables(EntityTags.versionOf(subjectCache.getAll(this::loadAllSubjects)));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public CursorPageResponse<SubjectResponse> getSubjectsPage(String cursor, int size) {
+        CursorPageResponse.validatePageSize(size);
+        long after = CursorPageResponse.decodeCursor(cursor);
+
+        // Pages are cut from the cached snapshot, which is ordered by id
+        List<SubjectResponse> subjects = subjectCache.getAll(this::loadAllSubjects);
+        int from = firstIndexAfter(subjects, after);
+
+        // Take one extra row to know whether another page exists
+        List<SubjectResponse> rows = subjects.subList(from, Math.min(from + size + 1, subjects.size()));
+        return CursorPageResponse.of(rows, size, SubjectResponse::getId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public SubjectStatsResponse getSubjectStats(Long subjectId) {
+        SubjectResponse subject = getSubjectById(subjectId);
+        return new SubjectStatsResponse(subject, enrollmentCounter.countFor(subjectId));
+    }
+
+    // No ids means every subject; the counts for all of them come from one aggregate query
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<SubjectStatsResponse> getSubjectStats(List<Long> subjectIds) {
+        List<SubjectResponse> subjects;
+        if (subjectIds == null || subjectIds.isEmpty()) {
+            subjects = subjectCache.getAll(this::loadAllSubjects);
+        } else {
+            Map<Long, SubjectResponse> subjectsById = subjectCache.getAllById(this::loadAllSubjects);
+            List<Long> missing = subjectIds.stream()
+                    .filter(id -> !subjectsById.containsKey(id))
+                    .distinct()
+                    .collect(Collectors.toList());
+            if (!missing.isEmpty()) {
+                throw new ResourceNotFoundException("Subjects not found with ids: " + missing);
+            }
+            subjects = subjectIds.stream().distinct().map(subjectsById::get).collect(Collectors.toList());
+        }
+
+        Map<Long, Long> counts = enrollmentCounter.countsFor(
+                subjects.stream().map(SubjectResponse::getId).collect(Collectors.toList()));
         return subjects.stream()
-                .map(this::convertToSubjectResponse)
+                .map(subject -> new SubjectStatsResponse(subject, counts.get(subject.getId())))
                 .collect(Collectors.toList());
     }
 
     @Override
     public void deleteSubject(Long subjectId) {
-        // Find subject
-        Subject subject = subjectRepository.findById(subjectId)
-                .orElseThrow(() -> new ResourceNotFoundException("Subject not found with id: " + subjectId));
-
-        // Business validation - check if subject is assigned to any students
-        if (subjectRepository.hasStudentsAssigned(subjectId)) {
+        // Name for cache eviction, only if already cached - the delete itself needs no read
+        String name = subjectCache.peekById(subjectId).map(SubjectResponse::getName).orElse(null);
+
+        // Conditional delete - succeeds only if no student takes the subject
+        if (subjectRepository.deleteIfUnassigned(subjectId) == 0) {
+            // Nothing deleted: find out whether the subject is missing or still assigned
+            Subject subject = subjectRepository.findById(subjectId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Subject not found with id: " + subjectId));
             throw new BusinessLogicException(
                     "Cannot delete subject '" + subject.getName() + "' as it is assigned to one or more students"
             );
         }
 
-        // Delete subject
-        subjectRepository.delete(subject);
+        eventPublisher.publishEvent(new SubjectChangedEvent(ChangeType.DELETED, subjectId, name, null));
     }
 
-    // Helper method for entity to DTO conversion
-    private SubjectResponse convertToSubjectResponse(Subject subject) {
-        SubjectResponse response = new SubjectResponse();
-        response.setId(subject.getId());
-        response.setName(subject.getName());
-        response.setDescription(subject.getDescription());
-        response.setCredits(subject.getCredits());
-        response.setCreatedAt(subject.getCreatedAt());
-        response.setUpdatedAt(subject.getUpdatedAt());
-        return response;
+    // Binary search for the first subject with an id greater than the cursor
+    private int firstIndexAfter(List<SubjectResponse> subjects, long after) {
+        int low = 0;
+        int high = subjects.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (subjects.get(mid).getId() <= after) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private List<SubjectResponse> loadAllSubjects() {
+        return subjectRepository.findAllResponses();
+    }
+
+    private ResourceAlreadyExistsException nameAlreadyExists(String name) {
+        return new ResourceAlreadyExistsException("Subject with name '" + name + "' already exists");
+    }
+
+    // Only a duplicate on the name constraint is a 409, e.g. a description too long for its column is not
+    private RuntimeException translateNameViolation(DataIntegrityViolationException ex, String name) {
+        if (UniqueKeyViolations.isViolationOf(ex, Subject.NAME_CONSTRAINT)) {
+            return nameAlreadyExists(name);
+        }
+        return ex;
     }
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.student.studentmanagementsystem.web;
+
+import com.student.studentmanagementsystem.exception.ServiceUnavailableException;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Lets at most one request per pooled connection into the API at a time, the rest wait here instead of inside Hikari.
+// An async request that keeps using the database after the first dispatch (e.g. a streaming export) keeps its
+// permit until the async request completes
+public class DatabaseConcurrencyLimiter implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = DatabaseConcurrencyLimiter.class.getName() + ".permit";
+
+    private final Semaphore permits;
+    private final long maxWaitMillis;
+
+    public DatabaseConcurrencyLimiter(int permits, long maxWaitMillis) {
+        this.permits = new Semaphore(permits, true);
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws InterruptedException {
+        // Answered from memory, no connection to wait for
+        if (handler instanceof HandlerMethod method && method.hasMethodAnnotation(InMemoryRead.class)) {
+            return true;
+        }
+        // An async dispatch still runs on the permit taken by the first dispatch, if it holds one
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+            throw new ServiceUnavailableException("Server is busy, please retry later");
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, new AtomicBoolean(true));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        // Emitters (SSE) only push what other threads hand them and may stay open for hours, they give it back now
+        if (handler instanceof HandlerMethod method
+                && ResponseBodyEmitter.class.isAssignableFrom(method.getReturnType().getParameterType())) {
+            release(request);
+            return;
+        }
+        // Everything else is released on completion, also when it times out or the client goes away without a
+        // further dispatch
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                release(request);
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                release(request);
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                release(request);
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        release(request);
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    // Completion may be reported by the async dispatch and the async listener alike, only the first one releases
+    private void release(HttpServletRequest request) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof AtomicBoolean held && held.compareAndSet(true, false)) {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.student.studentmanagementsystem.web;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marks handlers answered from in-memory state (subject cache, search index), which skip the database
+// concurrency limiter. A cache miss still runs its one query, that is not worth queuing for
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface InMemoryRead {
+}
@@ -0,0 +1,6 @@
+-- Students moved from IDENTITY to a pooled sequence (emulated by the student_seq table on MySQL).
+-- Keep the sequence ahead of ids that were handed out by AUTO_INCREMENT before the switch. The pooled optimizer
+-- hands out the 50 ids up to the value it reads, so next_val must be at least MAX(id) + 50. Only a sequence that
+-- is behind is moved, rerunning this on every start leaves it alone.
+UPDATE student_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + 50 FROM students)
+WHERE next_val < (SELECT COALESCE(MAX(id), 0) + 50 FROM students);
@@ -0,0 +1,103 @@
+package com.student.studentmanagementsystem.cache;
+
+import com.student.studentmanagementsystem.dto.SubjectResponse;
+import com.student.studentmanagementsystem.event.ChangeType;
+import com.student.studentmanagementsystem.event.SubjectChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubjectCacheTest {
+
+    private SubjectCache subjectCache;
+
+    @BeforeEach
+    void setUp() {
+        subjectCache = new SubjectCache(new ConcurrentMapCacheManager());
+    }
+
+    @Test
+    void getById_EvictedWhileLoading_StaleCopyNotCached() {
+        // Given - a reader loads the old row, then the update commits before the reader caches it
+        SubjectResponse stale = subject(1L, "Mathematics", 0L);
+
+        // When
+        subjectCache.getById(1L, () -> {
+            subjectCache.onSubjectChanged(new SubjectChangedEvent(
+                    ChangeType.UPDATED, 1L, null, subject(1L, "Mathematics", 1L)));
+            return Optional.of(stale);
+        });
+
+        // Then
+        assertTrue(subjectCache.peekById(1L).isEmpty());
+        SubjectResponse fresh = subject(1L, "Mathematics", 1L);
+        assertSame(fresh, subjectCache.getById(1L, () -> Optional.of(fresh)).orElseThrow());
+        assertSame(fresh, subjectCache.getByName("Mathematics", Optional::empty).orElseThrow());
+    }
+
+    @Test
+    void getAll_EvictedWhileLoading_SnapshotNotCached() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        subjectCache.getAll(() -> {
+            loads.incrementAndGet();
+            subjectCache.onSubjectChanged(new SubjectChangedEvent(ChangeType.DELETED, 2L, null, null));
+            return List.of(subject(1L, "Mathematics", 0L), subject(2L, "Physics", 0L));
+        });
+        subjectCache.getAll(() -> {
+            loads.incrementAndGet();
+            return List.of(subject(1L, "Mathematics", 0L));
+        });
+
+        // Then
+        assertEquals(2, loads.get());
+        assertTrue(subjectCache.peekById(2L).isEmpty());
+    }
+
+    @Test
+    void getByName_DifferentCasing_Hits() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        SubjectResponse mathematics = subject(1L, "Mathematics", 0L);
+        subjectCache.getByName("Mathematics", () -> {
+            loads.incrementAndGet();
+            return Optional.of(mathematics);
+        });
+
+        // When
+        Optional<SubjectResponse> result = subjectCache.getByName("MATHEMATICS", () -> {
+            loads.incrementAndGet();
+            return Optional.of(mathematics);
+        });
+
+        // Then
+        assertSame(mathematics, result.orElseThrow());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void onSubjectChanged_DeletedWithoutName_EvictsOnlyThatSubject() {
+        // Given
+        subjectCache.getByName("Mathematics", () -> Optional.of(subject(1L, "Mathematics", 0L)));
+        subjectCache.getByName("Physics", () -> Optional.of(subject(2L, "Physics", 0L)));
+
+        // When
+        subjectCache.onSubjectChanged(new SubjectChangedEvent(ChangeType.DELETED, 2L, null, null));
+
+        // Then
+        assertTrue(subjectCache.getByName("physics", Optional::empty).isEmpty());
+        assertTrue(subjectCache.getByName("mathematics", Optional::empty).isPresent());
+    }
+
+    private SubjectResponse subject(Long id, String name, Long version) {
+        return new SubjectResponse(id, name, null, 3, null, null, version);
+    }
+}
@@ -0,0 +1,214 @@
+package com.student.studentmanagementsystem.changefeed;
+
+import com.student.studentmanagementsystem.dto.ChangeEventResponse;
+import com.student.studentmanagementsystem.dto.ChangeFeedResponse;
+import com.student.studentmanagementsystem.dto.StudentRequest;
+import com.student.studentmanagementsystem.dto.StudentResponse;
+import com.student.studentmanagementsystem.dto.SubjectRequest;
+import com.student.studentmanagementsystem.dto.SubjectResponse;
+import com.student.studentmanagementsystem.event.ChangeType;
+import com.student.studentmanagementsystem.event.EntityType;
+import com.student.studentmanagementsystem.exception.BusinessLogicException;
+import com.student.studentmanagementsystem.service.StudentService;
+import com.student.studentmanagementsystem.service.SubjectService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Every committed mutation lands in the change_events outbox, in order, and nothing from rolled back transactions
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:changefeed;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+class ChangeFeedTest {
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private SubjectService subjectService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void mutations_AreReadBackInOrder_AndResumableFromLastSequence() {
+        // Given
+        long start = lastSequence();
+        SubjectResponse subject = subjectService.createSubject(new SubjectRequest("Feed subject", "Description", 3));
+        StudentResponse student = studentService.createStudent(
+                new StudentRequest("Feed", "Student", "feed.student@example.com", "1234567890"));
+        studentService.assignSubjectToStudent(student.getId(), subject.getId());
+        studentService.updateStudent(student.getId(),
+                new StudentRequest("Fed", "Student", "feed.student@example.com", "1234567890"));
+        studentService.deleteStudent(student.getId());
+
+        // When
+        ChangeFeedResponse feed = changeFeed.read(start, 500);
+
+        // Then
+        List<ChangeEventResponse> events = feed.getEvents();
+        assertEquals(List.of(EntityType.SUBJECT, EntityType.STUDENT, EntityType.ENROLLMENT,
+                        EntityType.STUDENT, EntityType.STUDENT, EntityType.ENROLLMENT),
+                events.stream().map(ChangeEventResponse::getEntityType).toList());
+        assertEquals(List.of(ChangeType.CREATED, ChangeType.CREATED, ChangeType.CREATED,
+                        ChangeType.UPDATED, ChangeType.DELETED, ChangeType.DELETED),
+                events.stream().map(ChangeEventResponse::getChangeType).toList());
+        assertTrue(events.get(3).getPayload().contains("\"firstName\":\"Fed\""));
+        assertNull(events.get(4).getPayload());
+
+        for (int i = 1; i < events.size(); i++) {
+            assertTrue(events.get(i).getSequence() > events.get(i - 1).getSequence());
+        }
+        assertEquals(events.get(events.size() - 1).getSequence(), feed.getLastSequence());
+        assertTrue(changeFeed.read(feed.getLastSequence(), 500).getEvents().isEmpty());
+        assertEquals(2, changeFeed.read(events.get(3).getSequence(), 500).getEvents().size());
+    }
+
+    @Test
+    void rolledBackTransaction_WritesNothing() {
+        // Given
+        long start = lastSequence();
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            studentService.createStudent(
+                    new StudentRequest("Rolled", "Back", "rolled.back@example.com", "1234567890"));
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertTrue(changeFeed.read(start, 500).getEvents().isEmpty());
+    }
+
+    @Test
+    void longTransaction_IsStampedWithItsCommitTime() {
+        // Given
+        long start = lastSequence();
+        LocalDateTime[] committing = new LocalDateTime[1];
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            studentService.createStudent(new StudentRequest("Slow", "Writer", "slow.writer@example.com", "1234567890"));
+            sleep(50);
+            committing[0] = LocalDateTime.now();
+        });
+
+        // Then
+        List<ChangeEventResponse> events = changeFeed.read(start, 500).getEvents();
+        assertEquals(1, events.size());
+        assertFalse(events.get(0).getCreatedAt().isBefore(committing[0]));
+    }
+
+    @Test
+    void largeImport_FlushedInChunks_AllStampedAtCommit() {
+        // Given
+        long start = lastSequence();
+        List<StudentRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 1_200; i++) {
+            requests.add(new StudentRequest("Bulk", "Import", "bulk" + i + "@example.com", "1234567890"));
+        }
+        LocalDateTime[] committing = new LocalDateTime[1];
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            studentService.importStudents(requests.iterator());
+            committing[0] = LocalDateTime.now();
+        });
+
+        // Then
+        List<ChangeEventResponse> events = readAll(start);
+        assertEquals(1_200, events.size());
+        assertTrue(events.stream().noneMatch(event -> event.getCreatedAt().isBefore(committing[0])));
+    }
+
+    @Test
+    void transactionCommittedDuringOpenImport_IsHeldBackUntilTheImportCommits() throws Exception {
+        // Given - an import that has flushed chunks and stays open
+        long start = lastSequence();
+        List<StudentRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            requests.add(new StudentRequest("Open", "Import", "open" + i + "@example.com", "1234567890"));
+        }
+        CountDownLatch flushed = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService importer = Executors.newSingleThreadExecutor();
+        Future<?> importing = importer.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            studentService.importStudents(requests.iterator());
+            flushed.countDown();
+            await(commit);
+        }));
+        try {
+            assertTrue(flushed.await(30, TimeUnit.SECONDS));
+
+            // When - a short transaction commits higher sequences meanwhile
+            studentService.createStudent(new StudentRequest("Quick", "Writer", "quick.writer@example.com", "1234567890"));
+            ChangeFeedResponse whileOpen = changeFeed.read(start, 500);
+            commit.countDown();
+            importing.get(30, TimeUnit.SECONDS);
+
+            // Then - nothing was returned past the open import, and resuming yields every event
+            assertTrue(whileOpen.getEvents().isEmpty());
+            List<ChangeEventResponse> events = readAll(whileOpen.getLastSequence());
+            assertEquals(601, events.size());
+            assertEquals(1, events.stream().filter(event -> event.getPayload().contains("\"Quick\"")).count());
+        } finally {
+            commit.countDown();
+            importer.shutdownNow();
+        }
+    }
+
+    @Test
+    void read_RejectsInvalidArguments() {
+        assertThrows(BusinessLogicException.class, () -> changeFeed.read(-1, 10));
+        assertThrows(BusinessLogicException.class, () -> changeFeed.read(0, 0));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // The feed is shared by every test of the class, so the starting point is read to its end
+    private long lastSequence() {
+        List<ChangeEventResponse> events = readAll(0);
+        return events.isEmpty() ? 0 : events.get(events.size() - 1).getSequence();
+    }
+
+    private List<ChangeEventResponse> readAll(long since) {
+        List<ChangeEventResponse> events = new ArrayList<>();
+        ChangeFeedResponse page;
+        do {
+            page = changeFeed.read(since, 500);
+            events.addAll(page.getEvents());
+            since = page.getLastSequence();
+        } while (!page.getEvents().isEmpty());
+        return events;
+    }
+}
@@ -0,0 +1,56 @@
+package com.student.studentmanagementsystem.config;
+
+import com.student.studentmanagementsystem.entity.Student;
+import com.student.studentmanagementsystem.entity.Subject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LegacyUniqueKeyCleanupTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private LegacyUniqueKeyCleanup cleanup;
+
+    @Test
+    void dropLegacyIndexes_MySql_DropsOnlyTheAnonymousIndexes() {
+        // Given
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("MySQL");
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("students"), eq(Student.EMAIL_CONSTRAINT),
+                eq("email"))).thenReturn(List.of("UK_e2rndfrsx22acpq2ty1caeuyw"));
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("subjects"), eq(Subject.NAME_CONSTRAINT),
+                eq("name"))).thenReturn(List.of());
+
+        // When
+        cleanup.dropLegacyIndexes();
+
+        // Then
+        verify(jdbcTemplate).execute("ALTER TABLE students DROP INDEX `UK_e2rndfrsx22acpq2ty1caeuyw`");
+        verify(jdbcTemplate, never()).execute(startsWith("ALTER TABLE subjects"));
+    }
+
+    @Test
+    void dropLegacyIndexes_OtherDatabase_DoesNothing() {
+        // Given
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("H2");
+
+        // When
+        cleanup.dropLegacyIndexes();
+
+        // Then
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(String.class), any(Object[].class));
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+}
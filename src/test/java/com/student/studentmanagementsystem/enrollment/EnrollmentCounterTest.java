@@ -0,0 +1,69 @@
+package com.student.studentmanagementsystem.enrollment;
+
+import com.student.studentmanagementsystem.dto.SubjectAssignmentRequest;
+import com.student.studentmanagementsystem.event.EnrollmentChangedEvent;
+import com.student.studentmanagementsystem.repository.StudentSubjectRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class EnrollmentCounterTest {
+
+    @Mock
+    private StudentSubjectRepository studentSubjectRepository;
+
+    @Test
+    void countsFor_Disabled_QueriesEveryTime() {
+        // Given
+        EnrollmentCounter counter = new EnrollmentCounter(studentSubjectRepository, false, 60_000);
+        when(studentSubjectRepository.countBySubjectIds(List.of(1L, 2L))).thenReturn(Map.of(1L, 3L));
+
+        // When
+        counter.countsFor(List.of(1L, 2L));
+        Map<Long, Long> counts = counter.countsFor(List.of(1L, 2L));
+
+        // Then
+        assertEquals(Map.of(1L, 3L, 2L, 0L), counts);
+        verify(studentSubjectRepository, times(2)).countBySubjectIds(anyCollection());
+    }
+
+    @Test
+    void countsFor_Enabled_LoadsOnceAndAppliesChanges() {
+        // Given
+        EnrollmentCounter counter = new EnrollmentCounter(studentSubjectRepository, true, 60_000);
+        when(studentSubjectRepository.countAllBySubject()).thenReturn(Map.of(1L, 3L));
+        counter.countFor(1L);
+
+        // When
+        counter.onEnrollmentChanged(EnrollmentChangedEvent.added(List.of(
+                new SubjectAssignmentRequest(10L, 1L), new SubjectAssignmentRequest(10L, 2L))));
+        counter.onEnrollmentChanged(EnrollmentChangedEvent.removed(List.of(new SubjectAssignmentRequest(11L, 1L))));
+
+        // Then
+        assertEquals(Map.of(1L, 3L, 2L, 1L), counter.countsFor(List.of(1L, 2L)));
+        verify(studentSubjectRepository, times(1)).countAllBySubject();
+        verify(studentSubjectRepository, never()).countBySubjectIds(anyCollection());
+    }
+
+    @Test
+    void countsFor_Enabled_ReloadsAfterRefreshInterval() {
+        // Given
+        EnrollmentCounter counter = new EnrollmentCounter(studentSubjectRepository, true, 0);
+        when(studentSubjectRepository.countAllBySubject()).thenReturn(Map.of(1L, 3L), Map.of(1L, 4L));
+
+        // When
+        counter.countFor(1L);
+        long count = counter.countFor(1L);
+
+        // Then
+        assertEquals(4L, count);
+    }
+}
@@ -0,0 +1,53 @@
+package com.student.studentmanagementsystem.enrollment;
+
+import com.student.studentmanagementsystem.exception.BusinessLogicException;
+import org.junit.jupiter.api.Test;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnrollmentExpressionTest {
+
+    private final Map<Long, long[]> rosters = Map.of(
+            1L, new long[]{1, 2, 3, 4, 5},
+            2L, new long[]{2, 4, 6},
+            3L, new long[]{4, 5, 6, 7});
+
+    private long[] evaluate(String expression) {
+        return EnrollmentExpression.parse(expression).evaluate(id -> rosters.getOrDefault(id, new long[0]));
+    }
+
+    @Test
+    void evaluate_AndOrAndNot() {
+        assertArrayEquals(new long[]{2, 4}, evaluate("1 AND 2"));
+        assertArrayEquals(new long[]{1, 2, 3, 4, 5, 6}, evaluate("1 or 2"));
+        assertArrayEquals(new long[]{2}, evaluate("1 AND 2 AND NOT 3"));
+        assertArrayEquals(new long[]{}, evaluate("1 AND 9"));
+    }
+
+    @Test
+    void evaluate_AndBindsTighterThanOr_AndParenthesesOverride() {
+        // 2 OR (1 AND 3) versus (2 OR 1) AND 3
+        assertArrayEquals(new long[]{2, 4, 5, 6}, evaluate("2 OR 1 AND 3"));
+        assertArrayEquals(new long[]{4, 5, 6}, evaluate("(2 OR 1) AND 3"));
+        assertArrayEquals(new long[]{1, 3, 5, 7}, evaluate("(1 OR 3) AND NOT (2 OR 9)"));
+    }
+
+    @Test
+    void parse_CollectsDistinctSubjectIds() {
+        assertEquals(Set.of(1L, 2L, 3L), EnrollmentExpression.parse("(1 OR 2) AND NOT 1 OR 3").getSubjectIds());
+    }
+
+    @Test
+    void parse_RejectsMalformedExpressions() {
+        assertThrows(BusinessLogicException.class, () -> EnrollmentExpression.parse(" "));
+        assertThrows(BusinessLogicException.class, () -> EnrollmentExpression.parse("NOT 1"));
+        assertThrows(BusinessLogicException.class, () -> EnrollmentExpression.parse("1 OR NOT 2"));
+        assertThrows(BusinessLogicException.class, () -> EnrollmentExpression.parse("(1 AND 2"));
+        assertThrows(BusinessLogicException.class, () -> EnrollmentExpression.parse("1 AND"));
+        assertThrows(BusinessLogicException.class, () -> EnrollmentExpression.parse("1 2"));
+        assertThrows(BusinessLogicException.class, () -> EnrollmentExpression.parse("1 & 2"));
+        assertThrows(BusinessLogicException.class, () -> EnrollmentExpression.parse("math AND 2"));
+    }
+}
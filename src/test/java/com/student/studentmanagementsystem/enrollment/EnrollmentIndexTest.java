@@ -0,0 +1,115 @@
+package com.student.studentmanagementsystem.enrollment;
+
+import com.student.studentmanagementsystem.dto.SubjectAssignmentRequest;
+import com.student.studentmanagementsystem.event.ChangeType;
+import com.student.studentmanagementsystem.event.EnrollmentChangedEvent;
+import com.student.studentmanagementsystem.event.StudentChangedEvent;
+import com.student.studentmanagementsystem.repository.StudentSubjectRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class EnrollmentIndexTest {
+
+    @Mock
+    private StudentSubjectRepository studentSubjectRepository;
+
+    @Test
+    void load_Disabled_StaysNotReady() {
+        // Given
+        EnrollmentIndex index = new EnrollmentIndex(studentSubjectRepository, false);
+
+        // When
+        index.load();
+        index.onEnrollmentChanged(EnrollmentChangedEvent.added(List.of(new SubjectAssignmentRequest(10L, 1L))));
+
+        // Then
+        assertFalse(index.isReady());
+        assertFalse(index.isEnrolled(10L, 1L));
+        verifyNoInteractions(studentSubjectRepository);
+    }
+
+    @Test
+    void load_Enabled_IndexesBothDirections() {
+        // Given
+        EnrollmentIndex index = new EnrollmentIndex(studentSubjectRepository, true);
+        when(studentSubjectRepository.findAllSubjectIds()).thenReturn(Map.of(
+                10L, List.of(2L, 1L),
+                11L, List.of(1L)));
+
+        // When
+        index.load();
+
+        // Then
+        assertTrue(index.isReady());
+        assertArrayEquals(new long[]{1L, 2L}, index.subjectsOf(10L));
+        assertArrayEquals(new long[]{10L, 11L}, index.studentsOf(1L));
+        assertArrayEquals(new long[0], index.studentsOf(3L));
+        assertTrue(index.isEnrolled(11L, 1L));
+        assertFalse(index.isEnrolled(11L, 2L));
+        assertEquals(Map.of(10L, List.of(1L, 2L)), index.subjectIdsOf(List.of(10L, 12L)));
+    }
+
+    @Test
+    void onEnrollmentChanged_AppliesAddsAndRemoves() {
+        // Given
+        EnrollmentIndex index = new EnrollmentIndex(studentSubjectRepository, true);
+        when(studentSubjectRepository.findAllSubjectIds()).thenReturn(Map.of(10L, List.of(1L)));
+        index.load();
+        long[] before = index.studentsOf(1L);
+
+        // When
+        index.onEnrollmentChanged(new EnrollmentChangedEvent(
+                List.of(new SubjectAssignmentRequest(12L, 1L), new SubjectAssignmentRequest(10L, 2L)),
+                List.of(new SubjectAssignmentRequest(10L, 1L))));
+
+        // Then
+        assertArrayEquals(new long[]{12L}, index.studentsOf(1L));
+        assertArrayEquals(new long[]{2L}, index.subjectsOf(10L));
+        assertArrayEquals(new long[]{10L}, before);
+    }
+
+    @Test
+    void onStudentChanged_Deleted_DropsPairsTheRemovedListMissed() {
+        // Given - the delete named only subject 1, an assignment to subject 2 slipped in before it
+        EnrollmentIndex index = new EnrollmentIndex(studentSubjectRepository, true);
+        when(studentSubjectRepository.findAllSubjectIds()).thenReturn(Map.of(10L, List.of(1L), 11L, List.of(2L)));
+        index.load();
+        index.onEnrollmentChanged(EnrollmentChangedEvent.added(List.of(new SubjectAssignmentRequest(10L, 2L))));
+
+        // When
+        index.onStudentChanged(new StudentChangedEvent(ChangeType.DELETED, 10L, null));
+        index.onEnrollmentChanged(EnrollmentChangedEvent.removed(List.of(new SubjectAssignmentRequest(10L, 1L))));
+
+        // Then
+        assertArrayEquals(new long[0], index.subjectsOf(10L));
+        assertArrayEquals(new long[0], index.studentsOf(1L));
+        assertArrayEquals(new long[]{11L}, index.studentsOf(2L));
+    }
+
+    @Test
+    void studentsAfter_PagesTheRosterInIdOrder() {
+        // Given
+        EnrollmentIndex index = new EnrollmentIndex(studentSubjectRepository, true);
+        when(studentSubjectRepository.findAllSubjectIds()).thenReturn(Map.of(
+                10L, List.of(1L), 20L, List.of(1L), 30L, List.of(1L), 40L, List.of(1L)));
+        index.load();
+
+        // When
+        List<Long> first = index.studentsAfter(1L, 0L, 3);
+        List<Long> second = index.studentsAfter(1L, 25L, 3);
+
+        // Then
+        assertEquals(List.of(10L, 20L, 30L), first);
+        assertEquals(List.of(30L, 40L), second);
+        assertEquals(List.of(), index.studentsAfter(1L, 40L, 3));
+        assertEquals(List.of(), index.studentsAfter(2L, 0L, 3));
+    }
+}
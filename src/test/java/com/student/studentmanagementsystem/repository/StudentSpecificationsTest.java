@@ -0,0 +1,260 @@
+package com.student.studentmanagementsystem.repository;
+
+import com.student.studentmanagementsystem.dto.CursorPageResponse;
+import com.student.studentmanagementsystem.dto.StudentFilter;
+import com.student.studentmanagementsystem.dto.StudentResponse;
+import com.student.studentmanagementsystem.dto.StudentSort;
+import com.student.studentmanagementsystem.dto.SubjectAssignmentRequest;
+import com.student.studentmanagementsystem.entity.Student;
+import com.student.studentmanagementsystem.entity.Subject;
+import com.student.studentmanagementsystem.service.StudentService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Filters run in the database, on H2 in MySQL mode, and the plans use the indexes declared on Student
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:specifications;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.student.studentmanagementsystem.repository.StudentSpecificationsTest$CapturingInspector"})
+class StudentSpecificationsTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    @Autowired
+    private StudentSubjectRepository studentSubjectRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long physicsId;
+
+    @BeforeEach
+    void setUp() {
+        // The database lives as long as the context, seed it once
+        if (studentRepository.count() > 0) {
+            physicsId = subjectRepository.findByName("Physics").orElseThrow().getId();
+            return;
+        }
+        List<Student> students = studentRepository.saveAll(List.of(
+                new Student("John", "Smith", "john@example.com", "1234567890"),
+                new Student("Anna", "Smith", "anna@school.org", "1234567890"),
+                new Student("Jane", "Smithers", "jane@school.org", "1234567890"),
+                new Student("Mark", "Brown", "mark@example.com", "1234567890"),
+                new Student("Zoe", "Adams", "zoe@school.org", "1234567890")));
+        for (int i = 0; i < students.size(); i++) {
+            jdbcTemplate.update("UPDATE students SET created_at = ? WHERE id = ?",
+                    LocalDateTime.of(2024, 1, 1 + i, 9, 0), students.get(i).getId());
+        }
+
+        Subject physics = subjectRepository.save(new Subject("Physics", "Basic Physics", 4));
+        physicsId = physics.getId();
+        studentSubjectRepository.insertAll(List.of(
+                new SubjectAssignmentRequest(students.get(0).getId(), physicsId),
+                new SubjectAssignmentRequest(students.get(4).getId(), physicsId)));
+    }
+
+    @Test
+    void findStudents_LastNamePrefix_SortedByName() {
+        // Given
+        StudentFilter filter = new StudentFilter();
+        filter.setLastName("Smi");
+        filter.setSort(StudentSort.NAME);
+
+        // When
+        CursorPageResponse<StudentResponse> page = studentService.findStudents(filter, null, 10, false);
+
+        // Then
+        assertEquals(List.of("Anna Smith", "John Smith", "Jane Smithers"), names(page.getItems()));
+    }
+
+    @Test
+    void findStudents_EmailDomainAndCreatedRange() {
+        // Given
+        StudentFilter filter = new StudentFilter();
+        filter.setEmailDomain("@school.org");
+        filter.setCreatedFrom(LocalDateTime.of(2024, 1, 2, 0, 0));
+        filter.setCreatedTo(LocalDateTime.of(2024, 1, 5, 0, 0));
+
+        // When
+        CursorPageResponse<StudentResponse> page = studentService.findStudents(filter, null, 10, false);
+
+        // Then
+        assertEquals(List.of("Anna Smith", "Jane Smithers"), names(page.getItems()));
+    }
+
+    @Test
+    void findStudents_EnrolledInSubject_WithSubjects() {
+        // Given
+        StudentFilter filter = new StudentFilter();
+        filter.setSubjectId(physicsId);
+
+        // When
+        CursorPageResponse<StudentResponse> page = studentService.findStudents(filter, null, 10, true);
+
+        // Then
+        assertEquals(List.of("John Smith", "Zoe Adams"), names(page.getItems()));
+        assertTrue(page.getItems().stream().allMatch(s -> s.getSubjects().size() == 1));
+    }
+
+    @Test
+    void findStudents_KeysetPagesFollowSortOrder() {
+        // Given
+        StudentFilter filter = new StudentFilter();
+        filter.setSort(StudentSort.NAME);
+        List<String> seen = new ArrayList<>();
+
+        // When
+        String cursor = null;
+        do {
+            CursorPageResponse<StudentResponse> page = studentService.findStudents(filter, cursor, 2, false);
+            seen.addAll(names(page.getItems()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Then
+        assertEquals(List.of("Zoe Adams", "Mark Brown", "Anna Smith", "John Smith", "Jane Smithers"), seen);
+    }
+
+    @Test
+    void getStudentsOfSubjectPage_KeysetPagesOverTheRoster() {
+        // When
+        CursorPageResponse<StudentResponse> first = studentService.getStudentsOfSubjectPage(physicsId, null, 1);
+        CursorPageResponse<StudentResponse> second = studentService.getStudentsOfSubjectPage(
+                physicsId, first.getNextCursor(), 1);
+
+        // Then
+        assertEquals(List.of("John Smith"), names(first.getItems()));
+        assertEquals(List.of("Zoe Adams"), names(second.getItems()));
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void containsAllTerms_EveryTermMatchesSomeColumn() {
+        // When
+        List<Student> result = studentRepository.findBy(StudentSpecifications.containsAllTerms(List.of("smi", "school")),
+                q -> q.sortBy(StudentSpecifications.sortOf(StudentSort.ID)).all());
+
+        // Then
+        assertEquals(List.of("Anna", "Jane"), result.stream().map(Student::getFirstName).toList());
+    }
+
+    @Test
+    void findStudents_CursorRowDeletedOrRenamed_ResumesAfterItsSortValues() {
+        // Given - rows of their own, so the shared seed stays as it is
+        List<Student> coles = studentRepository.saveAll(List.of(
+                new Student("Amy", "Cole", "amy@cursor.test", "1234567890"),
+                new Student("Ben", "Cole", "ben@cursor.test", "1234567890"),
+                new Student("Cal", "Cole", "cal@cursor.test", "1234567890")));
+        StudentFilter filter = new StudentFilter();
+        filter.setEmailDomain("@cursor.test");
+        filter.setSort(StudentSort.NAME);
+        try {
+            CursorPageResponse<StudentResponse> first = studentService.findStudents(filter, null, 1, false);
+
+            // When - the cursor row is deleted, then the next one is renamed to sort before it
+            studentRepository.deleteById(coles.get(0).getId());
+            CursorPageResponse<StudentResponse> second = studentService.findStudents(
+                    filter, first.getNextCursor(), 1, false);
+            Student ben = studentRepository.findById(coles.get(1).getId()).orElseThrow();
+            ben.setLastName("Able");
+            studentRepository.save(ben);
+            CursorPageResponse<StudentResponse> third = studentService.findStudents(
+                    filter, second.getNextCursor(), 1, false);
+
+            // Then
+            assertEquals(List.of("Amy Cole"), names(first.getItems()));
+            assertEquals(List.of("Ben Cole"), names(second.getItems()));
+            assertEquals(List.of("Cal Cole"), names(third.getItems()));
+            assertNull(third.getNextCursor());
+        } finally {
+            studentRepository.deleteAllById(coles.stream().skip(1).map(Student::getId).toList());
+        }
+    }
+
+    // The explain tests run EXPLAIN on the statement Hibernate generated for the call, parameters bound
+
+    @Test
+    void explain_NamePrefixUsesNameIndex() {
+        StudentFilter filter = new StudentFilter();
+        filter.setLastName("Smi");
+        filter.setSort(StudentSort.NAME);
+
+        assertPlanUses(() -> studentService.findStudents(filter, null, 10, false),
+                "idx_students_last_first_name", "Smi%", 11);
+    }
+
+    @Test
+    void explain_CreatedRangeUsesCreatedAtIndex() {
+        StudentFilter filter = new StudentFilter();
+        filter.setCreatedFrom(LocalDateTime.of(2024, 1, 2, 0, 0));
+        filter.setCreatedTo(LocalDateTime.of(2024, 1, 5, 0, 0));
+        filter.setSort(StudentSort.CREATED_AT);
+
+        assertPlanUses(() -> studentService.findStudents(filter, null, 10, false), "idx_students_created_at",
+                filter.getCreatedFrom(), filter.getCreatedTo(), 11);
+    }
+
+    @Test
+    void explain_EnrolledInUsesJoinTableIndex() {
+        StudentFilter filter = new StudentFilter();
+        filter.setSubjectId(physicsId);
+
+        assertPlanUses(() -> studentService.findStudents(filter, null, 10, false),
+                "idx_student_subject_subject_student", physicsId, 11);
+    }
+
+    @Test
+    void explain_SubjectRosterUsesJoinTableIndex() {
+        assertPlanUses(() -> studentService.getStudentsOfSubjectPage(physicsId, null, 1),
+                "idx_student_subject_subject_student", physicsId, 0L, 2);
+    }
+
+    private void assertPlanUses(Runnable call, String index, Object... parameters) {
+        CapturingInspector.STATEMENTS.clear();
+        call.run();
+        String sql = CapturingInspector.STATEMENTS.stream()
+                .filter(statement -> statement.contains(" from students "))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No student query in " + CapturingInspector.STATEMENTS));
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+        assertTrue(plan.toLowerCase(Locale.ROOT).contains(index), () -> "Expected " + index + " in plan:\n" + plan);
+    }
+
+    // Registered as Hibernate's statement inspector for this context, keeps the SQL it is about to prepare
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    private List<String> names(List<StudentResponse> students) {
+        return students.stream().map(s -> s.getFirstName() + " " + s.getLastName()).toList();
+    }
+}
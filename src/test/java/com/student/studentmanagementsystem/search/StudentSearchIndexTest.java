@@ -0,0 +1,196 @@
+package com.student.studentmanagementsystem.search;
+
+import com.student.studentmanagementsystem.dto.StudentResponse;
+import com.student.studentmanagementsystem.event.ChangeType;
+import com.student.studentmanagementsystem.event.StudentChangedEvent;
+import com.student.studentmanagementsystem.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class StudentSearchIndexTest {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @InjectMocks
+    private StudentSearchIndex searchIndex;
+
+    private StudentResponse john;
+    private StudentResponse jane;
+
+    @BeforeEach
+    void setUp() {
+        john = new StudentResponse(1L, "John", "Smith", "john.smith@example.com", "5551234567", null, null);
+        jane = new StudentResponse(2L, "Jane", "Smithers", "jane@school.org", "5559876543", null, null);
+        when(studentRepository.findAllResponses()).thenReturn(List.of(john, jane));
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void isReady_OnlyOnceBuilt() {
+        // Given
+        StudentSearchIndex fresh = new StudentSearchIndex(studentRepository);
+
+        // When & Then
+        assertFalse(fresh.isReady());
+        fresh.rebuild();
+        assertTrue(fresh.isReady());
+        assertTrue(searchIndex.isReady());
+    }
+
+    @Test
+    void search_ByPrefix() {
+        // When
+        List<StudentResponse> result = searchIndex.search("smi", 10);
+
+        // Then
+        assertEquals(List.of(1L, 2L), ids(result));
+    }
+
+    @Test
+    void search_ExactTermRanksFirst() {
+        // When
+        List<StudentResponse> result = searchIndex.search("smithers", 10);
+
+        // Then
+        assertEquals(2L, result.get(0).getId());
+    }
+
+    @Test
+    void search_ToleratesTypos() {
+        // When
+        List<StudentResponse> result = searchIndex.search("smiht", 10);
+
+        // Then
+        assertTrue(ids(result).contains(1L));
+    }
+
+    @Test
+    void search_AllTermsMustMatch() {
+        // When
+        List<StudentResponse> result = searchIndex.search("jane smith", 10);
+
+        // Then
+        assertEquals(List.of(2L), ids(result));
+    }
+
+    @Test
+    void search_ByEmailAndPhone() {
+        // Then
+        assertEquals(List.of(2L), ids(searchIndex.search("jane@school", 10)));
+        assertEquals(List.of(1L), ids(searchIndex.search("555123", 10)));
+    }
+
+    @Test
+    void onStudentChanged_UpdatesIndex() {
+        // Given
+        StudentResponse renamed = new StudentResponse(1L, "Johnny", "Walker", "johnny@example.com", null, null, null);
+
+        // When
+        searchIndex.onStudentChanged(new StudentChangedEvent(ChangeType.UPDATED, 1L, renamed));
+        searchIndex.onStudentChanged(new StudentChangedEvent(ChangeType.DELETED, 2L, null));
+
+        // Then
+        assertTrue(searchIndex.search("smith", 10).isEmpty());
+        assertEquals(List.of(1L), ids(searchIndex.search("walker", 10)));
+        assertEquals(1, searchIndex.size());
+    }
+
+    @Test
+    void onStudentChanged_InTransaction_AppliedOnlyAfterCommit() {
+        // Given
+        StudentResponse mark = new StudentResponse(3L, "Mark", "Brown", "mark@example.com", null, null, null);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            searchIndex.onStudentChanged(new StudentChangedEvent(ChangeType.CREATED, 3L, mark));
+
+            // Then
+            assertTrue(searchIndex.search("brown", 10).isEmpty());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(List.of(3L), ids(searchIndex.search("brown", 10)));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationManager.unbindResourceIfPossible(searchIndex);
+        }
+    }
+
+    @Test
+    void onStudentChanged_LargeTransaction_RebuildsInsteadOfBuffering() {
+        // Given
+        StudentResponse mark = new StudentResponse(3L, "Mark", "Brown", "mark@example.com", null, null, null);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            for (long id = 3; id < 600; id++) {
+                searchIndex.onStudentChanged(new StudentChangedEvent(ChangeType.CREATED, id,
+                        new StudentResponse(id, "Bulk", "Import", "bulk" + id + "@example.com", null, null, null)));
+            }
+
+            // When
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationManager.unbindResourceIfPossible(searchIndex);
+        }
+
+        // Then
+        assertFalse(searchIndex.isReady());
+        when(studentRepository.findAllResponses()).thenReturn(List.of(john, jane, mark));
+        searchIndex.rebuildIfStale();
+        awaitReady();
+        assertEquals(3, searchIndex.size());
+    }
+
+    @Test
+    void rebuild_ChangeCommittedWhileReadingSnapshot_IsReplayedAndSearchesGoOn() {
+        // Given - a student is created after the snapshot was read, while the new index is still being built
+        StudentResponse mark = new StudentResponse(3L, "Mark", "Brown", "mark@example.com", null, null, null);
+        ExecutorService otherThread = Executors.newSingleThreadExecutor();
+        List<Long> foundDuringRebuild = new ArrayList<>();
+        when(studentRepository.findAllResponses()).thenAnswer(invocation -> {
+            foundDuringRebuild.addAll(otherThread.submit(() -> ids(searchIndex.search("smith", 10))).get(5, TimeUnit.SECONDS));
+            otherThread.submit(() -> searchIndex.onStudentChanged(new StudentChangedEvent(ChangeType.CREATED, 3L, mark)))
+                    .get(5, TimeUnit.SECONDS);
+            return List.of(john, jane);
+        });
+
+        try {
+            // When
+            searchIndex.rebuild();
+        } finally {
+            otherThread.shutdownNow();
+        }
+
+        // Then
+        assertEquals(List.of(1L, 2L), foundDuringRebuild);
+        assertEquals(List.of(3L), ids(searchIndex.search("brown", 10)));
+        assertEquals(3, searchIndex.size());
+    }
+
+    private void awaitReady() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!searchIndex.isReady()) {
+            assertTrue(System.nanoTime() < deadline, "rebuild did not complete");
+            Thread.onSpinWait();
+        }
+    }
+
+    private List<Long> ids(List<StudentResponse> students) {
+        return students.stream().map(StudentResponse::getId).toList();
+    }
+}
@@ -1,24 +1,58 @@
 package com.student.studentmanagementsystem.service;
 
 
+import com.student.studentmanagementsystem.cache.KnownKeys;
+import com.student.studentmanagementsystem.cache.SubjectCache;
+import com.student.studentmanagementsystem.dto.BatchImportResponse;
+import com.student.studentmanagementsystem.dto.BatchImportRowResult;
+import com.student.studentmanagementsystem.dto.BulkSubjectAssignmentRequest;
+import com.student.studentmanagementsystem.dto.BulkSubjectAssignmentResponse;
+import com.student.studentmanagementsystem.dto.CursorPageResponse;
+import com.student.studentmanagementsystem.dto.EnrollmentQueryResponse;
+import com.student.studentmanagementsystem.dto.EntityTags;
 import com.student.studentmanagementsystem.dto.StudentRequest;
 import com.student.studentmanagementsystem.dto.StudentResponse;
+import com.student.studentmanagementsystem.dto.SubjectAssignmentRequest;
+import com.student.studentmanagementsystem.dto.SubjectResponse;
+import com.student.studentmanagementsystem.dto.TableVersion;
+import com.student.studentmanagementsystem.enrollment.EnrollmentIndex;
 import com.student.studentmanagementsystem.entity.Student;
 import com.student.studentmanagementsystem.entity.Subject;
+import com.student.studentmanagementsystem.event.ChangeType;
+import com.student.studentmanagementsystem.event.EnrollmentChangedEvent;
+import com.student.studentmanagementsystem.event.StudentChangedEvent;
+import com.student.studentmanagementsystem.exception.BusinessLogicException;
+import com.student.studentmanagementsystem.exception.PreconditionFailedException;
 import com.student.studentmanagementsystem.exception.ResourceAlreadyExistsException;
 import com.student.studentmanagementsystem.exception.ResourceNotFoundException;
 import com.student.studentmanagementsystem.repository.StudentRepository;
+import com.student.studentmanagementsystem.repository.StudentSubjectRepository;
 import com.student.studentmanagementsystem.repository.SubjectRepository;
+import com.student.studentmanagementsystem.search.StudentSearchIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Optional;
 import java.util.List;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -33,12 +67,37 @@ class StudentServiceImplTest {
     @Mock
     private SubjectRepository subjectRepository;
 
+    @Mock
+    private StudentSubjectRepository studentSubjectRepository;
+
+    @Spy
+    private SubjectCache subjectCache = new SubjectCache(new ConcurrentMapCacheManager());
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private StudentSearchIndex searchIndex;
+
+    @Mock
+    private EnrollmentIndex enrollmentIndex;
+
+    @Mock
+    private KnownKeys knownKeys;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private StudentServiceImpl studentService;
 
     private StudentRequest studentRequest;
     private Student student;
     private Subject subject;
+    private SubjectResponse subjectResponse;
 
     @BeforeEach
     void setUp() {
@@ -62,13 +121,14 @@ class StudentServiceImplTest {
         subject.setName("Mathematics");
         subject.setDescription("Basic Mathematics");
         subject.setCredits(3);
+
+        subjectResponse = new SubjectResponse(1L, "Mathematics", "Basic Mathematics", 3, null, null);
     }
 
     @Test
     void createStudent_Success() {
         // Given
-        when(studentRepository.existsByEmail(studentRequest.getEmail())).thenReturn(false);
-        when(studentRepository.save(any(Student.class))).thenReturn(student);
+        when(studentRepository.saveAndFlush(any(Student.class))).thenReturn(student);
 
         // When
         StudentResponse result = studentService.createStudent(studentRequest);
@@ -79,14 +139,17 @@ class StudentServiceImplTest {
         assertEquals(student.getFirstName(), result.getFirstName());
         assertEquals(student.getEmail(), result.getEmail());
 
-        verify(studentRepository).existsByEmail(studentRequest.getEmail());
-        verify(studentRepository).save(any(Student.class));
+        // A new email goes straight to the insert
+        verify(studentRepository, never()).existsByEmail(anyString());
+        verify(studentRepository).saveAndFlush(any(Student.class));
+        verify(eventPublisher).publishEvent(any(StudentChangedEvent.class));
     }
 
     @Test
     void createStudent_EmailAlreadyExists_ThrowsException() {
         // Given
-        when(studentRepository.existsByEmail(studentRequest.getEmail())).thenReturn(true);
+        when(studentRepository.saveAndFlush(any(Student.class)))
+                .thenThrow(new DuplicateKeyException("Duplicate entry 'john.doe@example.com' for key 'students.uk_students_email'"));
 
         // When & Then
         ResourceAlreadyExistsException exception = assertThrows(
@@ -95,8 +158,33 @@ class StudentServiceImplTest {
         );
 
         assertTrue(exception.getMessage().contains("already exists"));
-        verify(studentRepository).existsByEmail(studentRequest.getEmail());
-        verify(studentRepository, never()).save(any(Student.class));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void createStudent_OtherIntegrityViolation_IsNotReportedAsDuplicate() {
+        // Given
+        DataIntegrityViolationException tooLong = new DataIntegrityViolationException("Data too long for column");
+        when(studentRepository.saveAndFlush(any(Student.class))).thenThrow(tooLong);
+
+        // When & Then
+        DataIntegrityViolationException exception = assertThrows(
+                DataIntegrityViolationException.class,
+                () -> studentService.createStudent(studentRequest)
+        );
+
+        assertSame(tooLong, exception);
+    }
+
+    @Test
+    void createStudent_KnownEmail_RejectedByPreCheck() {
+        // Given
+        when(knownKeys.mightHaveEmail(studentRequest.getEmail())).thenReturn(true);
+        when(studentRepository.existsByEmail(studentRequest.getEmail())).thenReturn(true);
+
+        // When & Then
+        assertThrows(ResourceAlreadyExistsException.class, () -> studentService.createStudent(studentRequest));
+        verify(studentRepository, never()).saveAndFlush(any(Student.class));
     }
 
     @Test
@@ -104,7 +192,7 @@ class StudentServiceImplTest {
         // Given
         Long studentId = 1L;
         when(studentRepository.findById(studentId)).thenReturn(Optional.of(student));
-        when(studentRepository.save(any(Student.class))).thenReturn(student);
+        when(studentRepository.saveAndFlush(any(Student.class))).thenReturn(student);
 
         // When
         StudentResponse result = studentService.updateStudent(studentId, studentRequest);
@@ -113,7 +201,75 @@ class StudentServiceImplTest {
         assertNotNull(result);
         assertEquals(student.getId(), result.getId());
         verify(studentRepository).findById(studentId);
-        verify(studentRepository).save(any(Student.class));
+        verify(studentRepository, never()).findByIdWithSubjects(anyLong());
+        verify(studentSubjectRepository).findSubjectIdsByStudentIds(List.of(studentId));
+        verify(studentRepository).saveAndFlush(any(Student.class));
+    }
+
+    @Test
+    void updateStudent_IfMatchCurrent_Success() {
+        // Given
+        Long studentId = 1L;
+        student.setVersion(4L);
+        when(studentRepository.findById(studentId)).thenReturn(Optional.of(student));
+        when(studentRepository.saveAndFlush(any(Student.class))).thenReturn(student);
+
+        // When
+        StudentResponse result = studentService.updateStudent(studentId, studentRequest, "\"4\"");
+
+        // Then
+        assertEquals("\"4\"", EntityTags.of(result));
+        verify(studentRepository).saveAndFlush(any(Student.class));
+    }
+
+    @Test
+    void updateStudent_IfMatchStale_ThrowsPreconditionFailed() {
+        // Given
+        Long studentId = 1L;
+        student.setVersion(5L);
+        when(studentRepository.findById(studentId)).thenReturn(Optional.of(student));
+
+        // When & Then
+        assertThrows(
+                PreconditionFailedException.class,
+                () -> studentService.updateStudent(studentId, studentRequest, "\"4\"")
+        );
+
+        verify(studentRepository, never()).saveAndFlush(any(Student.class));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void updateStudent_IfMatchRaceLost_ThrowsPreconditionFailed() {
+        // Given - the tag matched, then a concurrent update committed before the flush
+        Long studentId = 1L;
+        student.setVersion(4L);
+        when(studentRepository.findById(studentId)).thenReturn(Optional.of(student));
+        when(studentRepository.saveAndFlush(any(Student.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Student.class, studentId));
+
+        // When & Then
+        assertThrows(
+                PreconditionFailedException.class,
+                () -> studentService.updateStudent(studentId, studentRequest, "\"4\"")
+        );
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void updateStudent_RaceLostWithoutIfMatch_StaysConflict() {
+        // Given
+        Long studentId = 1L;
+        when(studentRepository.findById(studentId)).thenReturn(Optional.of(student));
+        when(studentRepository.saveAndFlush(any(Student.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Student.class, studentId));
+
+        // When & Then
+        assertThrows(
+                ObjectOptimisticLockingFailureException.class,
+                () -> studentService.updateStudent(studentId, studentRequest)
+        );
     }
 
     @Test
@@ -138,18 +294,164 @@ class StudentServiceImplTest {
         Long studentId = 1L;
         Long subjectId = 1L;
 
-        when(studentRepository.findByIdWithSubjects(studentId)).thenReturn(Optional.of(student));
+        when(studentRepository.findById(studentId)).thenReturn(Optional.of(student));
         when(subjectRepository.findById(subjectId)).thenReturn(Optional.of(subject));
-        when(studentRepository.save(any(Student.class))).thenReturn(student);
+        when(studentRepository.existsByStudentIdAndSubjectId(studentId, subjectId)).thenReturn(false);
+        when(studentSubjectRepository.findSubjectIdsByStudentIds(List.of(studentId)))
+                .thenReturn(Map.of(studentId, List.of(subjectId)));
+        when(subjectRepository.findAllResponses()).thenReturn(List.of(subjectResponse));
 
         // When
         StudentResponse result = studentService.assignSubjectToStudent(studentId, subjectId);
 
         // Then
         assertNotNull(result);
-        verify(studentRepository).findByIdWithSubjects(studentId);
-        verify(subjectRepository).findById(subjectId);
-        verify(studentRepository).save(any(Student.class));
+        assertEquals(1, result.getSubjects().size());
+        verify(studentSubjectRepository).insertAll(List.of(new SubjectAssignmentRequest(studentId, subjectId)));
+        verify(studentRepository, never()).findByIdWithSubjects(anyLong());
+        verify(studentRepository, never()).save(any(Student.class));
+    }
+
+    @Test
+    void getStudentsOfSubjectPage_UnknownSubject_ThrowsException() {
+        // Given
+        when(subjectRepository.findById(9L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> studentService.getStudentsOfSubjectPage(9L, null, 10));
+        verify(studentRepository, never()).findResponsesBySubjectAfter(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void queryEnrollments_IndexOff_EvaluatesRostersFromOneQueryAndPages() {
+        // Given
+        SubjectResponse physics = new SubjectResponse(2L, "Physics", "Basic Physics", 3, null, null);
+        when(subjectRepository.findAllResponses()).thenReturn(List.of(subjectResponse, physics));
+        when(studentSubjectRepository.findStudentIdsBySubjectIds(Set.of(1L, 2L))).thenReturn(Map.of(
+                1L, new long[]{1L, 2L, 3L, 4L},
+                2L, new long[]{3L}));
+
+        // When
+        EnrollmentQueryResponse first = studentService.queryEnrollments("1 AND NOT 2", null, 2);
+        EnrollmentQueryResponse second = studentService.queryEnrollments("1 AND NOT 2", first.getNextCursor(), 2);
+
+        // Then
+        assertEquals(3, first.getCount());
+        assertEquals(List.of(1L, 2L), first.getStudentIds());
+        assertEquals(List.of(4L), second.getStudentIds());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void queryEnrollments_UnknownSubject_ThrowsException() {
+        // Given
+        when(subjectRepository.findAllResponses()).thenReturn(List.of(subjectResponse));
+
+        // When & Then
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> studentService.queryEnrollments("1 OR 7", null, 10));
+        assertEquals("Subjects not found with ids: [7]", exception.getMessage());
+        verify(studentSubjectRepository, never()).findStudentIdsBySubjectIds(anyCollection());
+    }
+
+    @Test
+    void unassignSubjectFromStudent_Success() {
+        // Given
+        Long studentId = 1L;
+        Long subjectId = 1L;
+
+        when(studentRepository.findById(studentId)).thenReturn(Optional.of(student));
+        when(studentSubjectRepository.delete(studentId, subjectId)).thenReturn(1);
+        when(studentSubjectRepository.findSubjectIdsByStudentIds(List.of(studentId))).thenReturn(Map.of());
+
+        // When
+        StudentResponse result = studentService.unassignSubjectFromStudent(studentId, subjectId);
+
+        // Then
+        assertTrue(result.getSubjects().isEmpty());
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof EnrollmentChangedEvent changed
+                && changed.getRemoved().equals(List.of(new SubjectAssignmentRequest(studentId, subjectId)))));
+        verify(studentRepository, never()).findByIdWithSubjects(anyLong());
+    }
+
+    @Test
+    void unassignSubjectFromStudent_NotAssigned_ThrowsException() {
+        // Given
+        Long studentId = 1L;
+        Long subjectId = 1L;
+
+        when(studentRepository.findById(studentId)).thenReturn(Optional.of(student));
+        when(studentSubjectRepository.delete(studentId, subjectId)).thenReturn(0);
+        when(subjectRepository.findById(subjectId)).thenReturn(Optional.of(subject));
+
+        // When & Then
+        BusinessLogicException exception = assertThrows(
+                BusinessLogicException.class,
+                () -> studentService.unassignSubjectFromStudent(studentId, subjectId)
+        );
+
+        assertTrue(exception.getMessage().contains("not assigned"));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void replaceSubjects_WritesOnlyTheDifference() {
+        // Given
+        Long studentId = 1L;
+        SubjectResponse physics = new SubjectResponse(2L, "Physics", "Basic Physics", 4, null, null);
+        SubjectResponse chemistry = new SubjectResponse(3L, "Chemistry", "Basic Chemistry", 4, null, null);
+
+        when(studentRepository.findById(studentId)).thenReturn(Optional.of(student));
+        when(subjectRepository.findExistingIds(Set.of(2L, 3L))).thenReturn(List.of(2L, 3L));
+        when(studentSubjectRepository.findSubjectIdsByStudentIds(List.of(studentId)))
+                .thenReturn(Map.of(studentId, List.of(1L, 2L)));
+        when(subjectRepository.findAllResponses()).thenReturn(List.of(subjectResponse, physics, chemistry));
+
+        // When
+        StudentResponse result = studentService.replaceSubjects(studentId, List.of(2L, 3L, 3L));
+
+        // Then
+        assertEquals(2, result.getSubjects().size());
+        verify(studentSubjectRepository).deleteAll(List.of(new SubjectAssignmentRequest(studentId, 1L)));
+        verify(studentSubjectRepository).insertAll(List.of(new SubjectAssignmentRequest(studentId, 3L)));
+    }
+
+    @Test
+    void replaceSubjects_UnknownSubject_ThrowsException() {
+        // Given
+        Long studentId = 1L;
+        when(studentRepository.findById(studentId)).thenReturn(Optional.of(student));
+        when(subjectRepository.findExistingIds(Set.of(1L, 9L))).thenReturn(List.of(1L));
+
+        // When & Then
+        ResourceNotFoundException exception = assertThrows(
+                ResourceNotFoundException.class,
+                () -> studentService.replaceSubjects(studentId, List.of(1L, 9L))
+        );
+
+        assertTrue(exception.getMessage().contains("[9]"));
+        verify(studentSubjectRepository, never()).insertAll(anyCollection());
+        verify(studentSubjectRepository, never()).deleteAll(anyCollection());
+    }
+
+    @Test
+    void assignSubjectToStudent_AlreadyAssigned_ThrowsException() {
+        // Given
+        Long studentId = 1L;
+        Long subjectId = 1L;
+
+        when(studentRepository.findById(studentId)).thenReturn(Optional.of(student));
+        when(subjectRepository.findById(subjectId)).thenReturn(Optional.of(subject));
+        when(studentRepository.existsByStudentIdAndSubjectId(studentId, subjectId)).thenReturn(true);
+
+        // When & Then
+        BusinessLogicException exception = assertThrows(
+                BusinessLogicException.class,
+                () -> studentService.assignSubjectToStudent(studentId, subjectId)
+        );
+
+        assertTrue(exception.getMessage().contains("already assigned"));
+        verify(studentSubjectRepository, never()).insertAll(anyCollection());
     }
 
     @Test
@@ -158,7 +460,7 @@ class StudentServiceImplTest {
         Long studentId = 1L;
         Long subjectId = 1L;
 
-        when(studentRepository.findByIdWithSubjects(studentId)).thenReturn(Optional.empty());
+        when(studentRepository.findById(studentId)).thenReturn(Optional.empty());
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(
@@ -169,11 +471,45 @@ class StudentServiceImplTest {
         assertTrue(exception.getMessage().contains("Student not found"));
     }
 
+    @Test
+    void getStudentsListTag_WithoutTouch_MovesWithChangeFeed() {
+        // Given - an enrollment change leaves the students' count and updated_at as they were
+        LocalDateTime lastUpdatedAt = LocalDateTime.of(2024, 1, 1, 9, 0);
+        when(studentSubjectRepository.touchesStudents()).thenReturn(false);
+        when(studentRepository.findTableVersionWithChangeSequence())
+                .thenReturn(new TableVersion(2, lastUpdatedAt, 41L), new TableVersion(2, lastUpdatedAt, 42L));
+
+        // When
+        String before = studentService.getStudentsListTag(false);
+        String after = studentService.getStudentsListTag(false);
+
+        // Then
+        assertNotEquals(before, after);
+        verify(studentRepository, never()).findTableVersion();
+    }
+
+    @Test
+    void getStudentsListTag_WithTouch_UsesStudentsTableOnly() {
+        // Given
+        when(studentSubjectRepository.touchesStudents()).thenReturn(true);
+        when(studentRepository.findTableVersion()).thenReturn(new TableVersion(2, LocalDateTime.of(2024, 1, 1, 9, 0)));
+
+        // When
+        String tag = studentService.getStudentsListTag(false);
+
+        // Then
+        assertFalse(tag.contains("#"));
+        verify(studentRepository, never()).findTableVersionWithChangeSequence();
+    }
+
     @Test
     void getAllStudentsWithSubjects_Success() {
         // Given
-        List<Student> students = Arrays.asList(student);
-        when(studentRepository.findAllWithSubjects()).thenReturn(students);
+        StudentResponse response = new StudentResponse(1L, "John", "Doe", "john.doe@example.com",
+                "1234567890", null, null);
+        when(studentRepository.findAllResponses()).thenReturn(List.of(response));
+        when(studentSubjectRepository.findAllSubjectIds()).thenReturn(Map.of(1L, List.of(1L)));
+        when(subjectRepository.findAllResponses()).thenReturn(List.of(subjectResponse));
 
         // When
         List<StudentResponse> result = studentService.getAllStudentsWithSubjects();
@@ -181,27 +517,69 @@ class StudentServiceImplTest {
         // Then
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(studentRepository).findAllWithSubjects();
+        assertEquals(Set.of(subjectResponse), result.get(0).getSubjects());
+        verify(studentRepository, never()).findAll();
     }
 
     @Test
     void deleteStudent_Success() {
         // Given
         Long studentId = 1L;
-        when(studentRepository.findById(studentId)).thenReturn(Optional.of(student));
+        when(studentSubjectRepository.findSubjectIdsForUpdate(studentId)).thenReturn(List.of(1L));
+        when(studentRepository.deleteByIdReturningCount(studentId)).thenReturn(1);
 
         // When
         studentService.deleteStudent(studentId);
 
         // Then
-        verify(studentRepository).findById(studentId);
-        verify(studentRepository).delete(student);
+        verify(studentRepository, never()).findById(anyLong());
+        verify(studentRepository).deleteByIdReturningCount(studentId);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof EnrollmentChangedEvent changed
+                && changed.getRemoved().equals(List.of(new SubjectAssignmentRequest(studentId, 1L)))));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof StudentChangedEvent changed
+                && changed.getType() == ChangeType.DELETED && changed.getStudentId().equals(studentId)));
+    }
+
+    @Test
+    void searchStudents_ServedFromIndex() {
+        // Given
+        StudentResponse match = new StudentResponse(1L, "John", "Doe", "john.doe@example.com", "1234567890", null, null);
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search("jo", 20)).thenReturn(List.of(match));
+
+        // When
+        List<StudentResponse> result = studentService.searchStudents("jo", 20);
+
+        // Then
+        assertEquals(List.of(match), result);
+        verifyNoInteractions(studentRepository);
+    }
+
+    @Test
+    void searchStudents_IndexNotBuilt_FallsBackToRepository() {
+        // Given
+        when(searchIndex.isReady()).thenReturn(false);
+        when(studentRepository.findBy(any(Specification.class), any())).thenReturn(List.of(student));
+
+        // When
+        List<StudentResponse> result = studentService.searchStudents("Jo", 20);
+
+        // Then
+        assertEquals(List.of(student.getId()), result.stream().map(StudentResponse::getId).toList());
+        verify(searchIndex, never()).search(anyString(), anyInt());
+    }
+
+    @Test
+    void searchStudents_BlankQuery_ThrowsException() {
+        // When & Then
+        assertThrows(BusinessLogicException.class, () -> studentService.searchStudents("  ", 20));
+        verifyNoInteractions(searchIndex);
     }
     @Test
     void deleteStudent_StudentNotFound_ThrowsException() {
         // Given
         Long studentId = 1L;
-        when(studentRepository.findById(studentId)).thenReturn(Optional.empty());
+        when(studentRepository.deleteByIdReturningCount(studentId)).thenReturn(0);
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(
@@ -210,8 +588,8 @@ class StudentServiceImplTest {
         );
 
         assertTrue(exception.getMessage().contains("Student not found"));
-        verify(studentRepository).findById(studentId);
         verify(studentRepository, never()).delete(any(Student.class));
+        verify(eventPublisher, never()).publishEvent(any());
 
     }
     @Test
@@ -243,4 +621,158 @@ class StudentServiceImplTest {
         assertTrue(exception.getMessage().contains("Student not found"));
         verify(studentRepository).findByIdWithSubjects(studentId);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getStudentsPage_MoreRowsThanSize_ReturnsNextCursor() {
+        // Given
+        StudentResponse first = new StudentResponse(1L, "John", "Doe", "john.doe@example.com", "1234567890", null, null);
+        StudentResponse second = new StudentResponse(2L, "Jane", "Roe", "jane@example.com", "1234567890", null, null);
+        when(studentRepository.findResponsesAfter(0L, Limit.of(2))).thenReturn(Arrays.asList(first, second));
+
+        // When
+        CursorPageResponse<StudentResponse> result = studentService.getStudentsPage(null, 1);
+
+        // Then
+        assertEquals(1, result.getItems().size());
+        assertEquals(student.getId(), result.getItems().get(0).getId());
+        assertEquals(1L, CursorPageResponse.decodeCursor(result.getNextCursor()));
+    }
+
+    @Test
+    void getStudentsPage_LastPage_HasNoNextCursor() {
+        // Given
+        String cursor = CursorPageResponse.encodeCursor(0L);
+        when(studentRepository.findResponsesAfter(0L, Limit.of(11)))
+                .thenReturn(List.of(new StudentResponse(1L, "John", "Doe", "john.doe@example.com", "1234567890", null, null)));
+
+        // When
+        CursorPageResponse<StudentResponse> result = studentService.getStudentsPage(cursor, 10);
+
+        // Then
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getStudentsPage_InvalidSize_ThrowsException() {
+        // When & Then
+        assertThrows(BusinessLogicException.class, () -> studentService.getStudentsPage(null, 0));
+        verify(studentRepository, never()).findResponsesAfter(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void getStudentsWithSubjectsPage_FetchesSubjectsForPageOnly() {
+        // Given
+        StudentResponse first = new StudentResponse(1L, "John", "Doe", "john.doe@example.com", "1234567890", null, null);
+        StudentResponse second = new StudentResponse(2L, "Jane", "Roe", "jane@example.com", "1234567890", null, null);
+        when(studentRepository.findResponsesAfter(0L, Limit.of(2))).thenReturn(Arrays.asList(first, second));
+        when(studentSubjectRepository.findSubjectIdsByStudentIds(List.of(1L))).thenReturn(Map.of(1L, List.of(1L)));
+        when(subjectRepository.findAllResponses()).thenReturn(List.of(subjectResponse));
+
+        // When
+        CursorPageResponse<StudentResponse> result = studentService.getStudentsWithSubjectsPage(null, 1);
+
+        // Then
+        assertEquals(1, result.getItems().size());
+        assertEquals(1, result.getItems().get(0).getSubjects().size());
+        assertNotNull(result.getNextCursor());
+        verify(studentSubjectRepository).findSubjectIdsByStudentIds(List.of(1L));
+    }
+
+    @Test
+    void getStudentsWithSubjectsPage_SubjectMissingFromSnapshot_LoadedById() {
+        // Given
+        StudentResponse first = new StudentResponse(1L, "John", "Doe", "john.doe@example.com", "1234567890", null, null);
+        when(studentRepository.findResponsesAfter(0L, Limit.of(11))).thenReturn(List.of(first));
+        when(studentSubjectRepository.findSubjectIdsByStudentIds(List.of(1L))).thenReturn(Map.of(1L, List.of(1L)));
+        when(subjectRepository.findAllResponses()).thenReturn(List.of());
+        when(subjectRepository.findById(1L)).thenReturn(Optional.of(subject));
+
+        // When
+        CursorPageResponse<StudentResponse> result = studentService.getStudentsWithSubjectsPage(null, 10);
+
+        // Then
+        assertEquals(1, result.getItems().get(0).getSubjects().size());
+        assertNull(result.getNextCursor());
+        verify(subjectRepository).findById(1L);
+    }
+
+    @Test
+    void exportStudentsWithSubjects_WritesEveryStudentWithSubjects() {
+        // Given
+        Student other = new Student();
+        other.setId(2L);
+        when(studentRepository.streamAllOrderById()).thenReturn(Stream.of(student, other));
+        when(studentSubjectRepository.findSubjectIdsByStudentIds(List.of(1L, 2L)))
+                .thenReturn(Map.of(1L, List.of(1L)));
+        when(subjectRepository.findAllResponses()).thenReturn(List.of(subjectResponse));
+        List<StudentResponse> exported = new ArrayList<>();
+
+        // When
+        studentService.exportStudentsWithSubjects(exported::add);
+
+        // Then
+        assertEquals(2, exported.size());
+        assertEquals(1, exported.get(0).getSubjects().size());
+        assertTrue(exported.get(1).getSubjects().isEmpty());
+        verify(entityManager).clear();
+    }
+
+    @Test
+    void importStudents_ReportsDuplicatesAndCreatesTheRest() {
+        // Given
+        StudentRequest existing = new StudentRequest("Jane", "Roe", "JANE@example.com", "1234567890");
+        StudentRequest repeated = new StudentRequest("John", "Doe", "john.doe@example.com", "1234567890");
+        when(studentRepository.findExistingEmails(anyCollection())).thenReturn(List.of("jane@example.com"));
+        when(studentRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Student> saved = invocation.getArgument(0);
+            saved.forEach(s -> s.setId(10L));
+            return saved;
+        });
+
+        // When
+        BatchImportResponse result = studentService.importStudents(
+                List.of(studentRequest, existing, repeated).iterator());
+
+        // Then
+        assertEquals(3, result.getTotal());
+        assertEquals(1, result.getCreated());
+        assertEquals(2, result.getFailed());
+        assertEquals(BatchImportRowResult.Status.CREATED, result.getResults().get(0).getStatus());
+        assertEquals(10L, result.getResults().get(0).getId());
+        assertEquals(BatchImportRowResult.Status.DUPLICATE, result.getResults().get(1).getStatus());
+        assertEquals(BatchImportRowResult.Status.DUPLICATE, result.getResults().get(2).getStatus());
+        verify(studentRepository, times(1)).findExistingEmails(anyCollection());
+        verify(studentRepository, never()).existsByEmail(anyString());
+        verify(studentRepository).flush();
+    }
+
+    @Test
+    void assignSubjectsInBulk_InsertsNewPairsAndReportsTheRest() {
+        // Given
+        BulkSubjectAssignmentRequest request = new BulkSubjectAssignmentRequest(1L, List.of(1L, 2L, 3L));
+        when(studentRepository.findExistingIds(Set.of(1L, 2L, 3L))).thenReturn(List.of(1L, 2L));
+        when(subjectRepository.findExistingIds(Set.of(1L))).thenReturn(List.of(1L));
+        when(studentSubjectRepository.findExistingPairs(Set.of(1L, 2L), Set.of(1L)))
+                .thenReturn(Set.of(new SubjectAssignmentRequest(2L, 1L)));
+
+        // When
+        BulkSubjectAssignmentResponse result = studentService.assignSubjectsInBulk(request);
+
+        // Then
+        assertEquals(3, result.getRequested());
+        assertEquals(1, result.getAssigned());
+        assertEquals(List.of(new SubjectAssignmentRequest(2L, 1L)), result.getDuplicates());
+        assertEquals(List.of(3L), result.getMissingStudentIds());
+        verify(studentSubjectRepository).insertAll(List.of(new SubjectAssignmentRequest(1L, 1L)));
+        verify(studentRepository, never()).findByIdWithSubjects(anyLong());
+    }
+
+    @Test
+    void assignSubjectsInBulk_EmptyRequest_ThrowsException() {
+        // When & Then
+        assertThrows(BusinessLogicException.class,
+                () -> studentService.assignSubjectsInBulk(new BulkSubjectAssignmentRequest()));
+        verify(studentSubjectRepository, never()).insertAll(anyCollection());
+    }
+}
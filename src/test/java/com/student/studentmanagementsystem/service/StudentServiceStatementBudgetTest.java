@@ -0,0 +1,188 @@
+package com.student.studentmanagementsystem.service;
+
+import com.student.studentmanagementsystem.dto.BulkSubjectAssignmentRequest;
+import com.student.studentmanagementsystem.dto.CursorPageResponse;
+import com.student.studentmanagementsystem.dto.StudentRequest;
+import com.student.studentmanagementsystem.dto.StudentResponse;
+import com.student.studentmanagementsystem.dto.SubjectRequest;
+import com.student.studentmanagementsystem.dto.SubjectResponse;
+import com.student.studentmanagementsystem.exception.BusinessLogicException;
+import com.student.studentmanagementsystem.exception.ResourceNotFoundException;
+import com.student.studentmanagementsystem.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.student.studentmanagementsystem.support.StatementBudget.assertAtMost;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Read paths must issue a fixed number of statements however many students and subjects there are
+@SpringBootTest
+@ActiveProfiles("test")
+class StudentServiceStatementBudgetTest {
+
+    private static final int STUDENTS = 30;
+    private static final int SUBJECTS = 4;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private SubjectService subjectService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private List<Long> studentIds;
+
+    @BeforeEach
+    void setUp() {
+        // The context, and so the database, is shared by all tests in this class
+        if (studentRepository.count() > 0) {
+            studentIds = studentRepository.findAll().stream().map(s -> s.getId()).toList();
+            return;
+        }
+        List<Long> subjectIds = new ArrayList<>();
+        for (int i = 0; i < SUBJECTS; i++) {
+            SubjectResponse subject = subjectService.createSubject(new SubjectRequest("Subject " + i, "Description", 3));
+            subjectIds.add(subject.getId());
+        }
+        studentIds = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            StudentResponse student = studentService.createStudent(
+                    new StudentRequest("First" + i, "Last" + i, "student" + i + "@example.com", "1234567890"));
+            studentIds.add(student.getId());
+        }
+        for (Long subjectId : subjectIds) {
+            BulkSubjectAssignmentRequest request = new BulkSubjectAssignmentRequest();
+            request.setSubjectId(subjectId);
+            request.setStudentIds(studentIds);
+            studentService.assignSubjectsInBulk(request);
+        }
+    }
+
+    @Test
+    void getAllStudentsWithSubjects_AtMostThreeStatements() {
+        // Students, their subject ids and, on a cold cache, the subject snapshot
+        List<StudentResponse> students = assertAtMost(3, () -> studentService.getAllStudentsWithSubjects());
+
+        assertEquals(STUDENTS, students.size());
+        assertTrue(students.stream().allMatch(s -> s.getSubjects().size() == SUBJECTS));
+    }
+
+    @Test
+    void getAllStudentsWithSubjects_WarmSubjectCache_AtMostTwoStatements() {
+        subjectService.getAllSubjects();
+
+        List<StudentResponse> students = assertAtMost(2, () -> studentService.getAllStudentsWithSubjects());
+
+        assertEquals(STUDENTS, students.size());
+    }
+
+    @Test
+    void getStudentsWithSubjectsPage_AtMostThreeStatements() {
+        CursorPageResponse<StudentResponse> page = assertAtMost(3, () -> studentService.getStudentsWithSubjectsPage(null, 10));
+
+        assertEquals(10, page.getItems().size());
+        assertTrue(page.getItems().stream().allMatch(s -> s.getSubjects().size() == SUBJECTS));
+    }
+
+    @Test
+    void getStudentsPage_OneStatement() {
+        CursorPageResponse<StudentResponse> page = assertAtMost(1, () -> studentService.getStudentsPage(null, 10));
+
+        assertEquals(10, page.getItems().size());
+    }
+
+    @Test
+    void getStudentById_OneStatement() {
+        StudentResponse student = assertAtMost(1, () -> studentService.getStudentById(studentIds.get(0)));
+
+        assertEquals(SUBJECTS, student.getSubjects().size());
+    }
+
+    @Test
+    void exportStudentsWithSubjects_StatementsPerChunkNotPerStudent() {
+        List<StudentResponse> exported = new ArrayList<>();
+
+        // The student stream, one subject id query for the single chunk and the subject snapshot
+        assertAtMost(3, () -> studentService.exportStudentsWithSubjects(exported::add));
+
+        assertEquals(STUDENTS, exported.size());
+    }
+
+    @Test
+    void deleteStudent_NeverLoadsTheEntity() {
+        StudentResponse student = studentService.createStudent(
+                new StudentRequest("Temp", "Student", "temp.student@example.com", "1234567890"));
+        Long subjectId = subjectService.getAllSubjects().get(0).getId();
+        studentService.assignSubjectToStudent(student.getId(), subjectId);
+
+        // Its subject ids for the enrollment event, the join rows, the student row and the outbox batch
+        assertAtMost(4, () -> studentService.deleteStudent(student.getId()));
+
+        assertFalse(studentRepository.existsById(student.getId()));
+        assertThrows(ResourceNotFoundException.class, () -> studentService.deleteStudent(student.getId()));
+    }
+
+    @Test
+    void deleteSubject_DeleteAndOutbox_AndRefusedWhileAssigned() {
+        SubjectResponse unused = subjectService.createSubject(new SubjectRequest("Unused subject", "Description", 2));
+        Long assignedId = subjectService.getSubjectByName("Subject 0").getId();
+
+        // The conditional delete, then the change_events insert in the same transaction
+        assertAtMost(2, () -> subjectService.deleteSubject(unused.getId()));
+
+        assertThrows(ResourceNotFoundException.class, () -> subjectService.getSubjectById(unused.getId()));
+        assertThrows(BusinessLogicException.class, () -> subjectService.deleteSubject(assignedId));
+        assertEquals(assignedId, subjectService.getSubjectById(assignedId).getId());
+    }
+
+    @Test
+    void getStudentsListTag_OneStatement_AndMovedByEnrollment() {
+        subjectService.getAllSubjects();
+        String before = assertAtMost(1, () -> studentService.getStudentsListTag(true));
+        assertTrue(before.startsWith("W/"));
+
+        StudentResponse student = studentService.createStudent(
+                new StudentRequest("Tag", "Student", "tag.student@example.com", "1234567890"));
+        String afterCreate = studentService.getStudentsListTag(false);
+        Long subjectId = subjectService.getAllSubjects().get(1).getId();
+        studentService.assignSubjectToStudent(student.getId(), subjectId);
+
+        assertNotEquals(before, studentService.getStudentsListTag(true));
+        assertNotEquals(afterCreate, studentService.getStudentsListTag(false));
+        studentService.deleteStudent(student.getId());
+    }
+
+    @Test
+    void replaceSubjects_StatementsIndependentOfSubjectCount() {
+        StudentResponse student = studentService.createStudent(
+                new StudentRequest("Timetable", "Student", "timetable.student@example.com", "1234567890"));
+        List<Long> subjectIds = subjectService.getAllSubjects().stream().map(SubjectResponse::getId).toList();
+        studentService.replaceSubjects(student.getId(), subjectIds.subList(0, 2));
+
+        // Student, subject ids, current pairs, one delete batch, one insert batch and the outbox
+        StudentResponse replaced = assertAtMost(6,
+                () -> studentService.replaceSubjects(student.getId(), subjectIds.subList(1, subjectIds.size())));
+
+        assertEquals(subjectIds.size() - 1, replaced.getSubjects().size());
+        assertEquals(subjectIds.size() - 1, studentService.getStudentById(student.getId()).getSubjects().size());
+        // Unchanged set, nothing is written
+        assertAtMost(3, () -> studentService.replaceSubjects(student.getId(), subjectIds.subList(1, subjectIds.size())));
+        studentService.deleteStudent(student.getId());
+    }
+
+    @Test
+    void budgetExceeded_FailsWithCallSite() {
+        AssertionError error = assertThrows(AssertionError.class,
+                () -> assertAtMost(1, () -> studentIds.subList(0, 3).forEach(studentService::getStudentById)));
+
+        assertTrue(error.getMessage().contains("at most 1"));
+        assertNotNull(error.getCause());
+    }
+}
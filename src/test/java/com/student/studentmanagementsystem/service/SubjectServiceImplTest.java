@@ -3,10 +3,19 @@ package com.student.studentmanagementsystem.service;
 
 
 
+import com.student.studentmanagementsystem.cache.KnownKeys;
+import com.student.studentmanagementsystem.cache.SubjectCache;
+import com.student.studentmanagementsystem.dto.CursorPageResponse;
+import com.student.studentmanagementsystem.dto.EntityTags;
 import com.student.studentmanagementsystem.dto.SubjectRequest;
 import com.student.studentmanagementsystem.dto.SubjectResponse;
+import com.student.studentmanagementsystem.dto.SubjectStatsResponse;
+import com.student.studentmanagementsystem.enrollment.EnrollmentCounter;
 import com.student.studentmanagementsystem.entity.Subject;
+import com.student.studentmanagementsystem.event.ChangeType;
+import com.student.studentmanagementsystem.event.SubjectChangedEvent;
 import com.student.studentmanagementsystem.exception.BusinessLogicException;
+import com.student.studentmanagementsystem.exception.PreconditionFailedException;
 import com.student.studentmanagementsystem.exception.ResourceAlreadyExistsException;
 import com.student.studentmanagementsystem.exception.ResourceNotFoundException;
 import com.student.studentmanagementsystem.repository.SubjectRepository;
@@ -15,9 +24,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 
@@ -31,11 +46,24 @@ class SubjectServiceImplTest {
     @Mock
     private SubjectRepository subjectRepository;
 
+    @Spy
+    private SubjectCache subjectCache = new SubjectCache(new ConcurrentMapCacheManager());
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EnrollmentCounter enrollmentCounter;
+
+    @Mock
+    private KnownKeys knownKeys;
+
     @InjectMocks
     private SubjectServiceImpl subjectService;
 
     private SubjectRequest subjectRequest;
     private Subject subject;
+    private SubjectResponse subjectResponse;
 
     @BeforeEach
     void setUp() {
@@ -51,13 +79,15 @@ class SubjectServiceImplTest {
         subject.setCredits(3);
         subject.setCreatedAt(LocalDateTime.now());
         subject.setUpdatedAt(LocalDateTime.now());
+
+        subjectResponse = new SubjectResponse(1L, "Mathematics", "Basic Mathematics", 3,
+                subject.getCreatedAt(), subject.getUpdatedAt());
     }
 
     @Test
     void createSubject_Success() {
         // Given
-        when(subjectRepository.existsByName(subjectRequest.getName())).thenReturn(false);
-        when(subjectRepository.save(any(Subject.class))).thenReturn(subject);
+        when(subjectRepository.saveAndFlush(any(Subject.class))).thenReturn(subject);
 
         // When
         SubjectResponse result = subjectService.createSubject(subjectRequest);
@@ -68,14 +98,15 @@ class SubjectServiceImplTest {
         assertEquals(subject.getName(), result.getName());
         assertEquals(subject.getCredits(), result.getCredits());
 
-        verify(subjectRepository).existsByName(subjectRequest.getName());
-        verify(subjectRepository).save(any(Subject.class));
+        verify(subjectRepository, never()).existsByName(anyString());
+        verify(subjectRepository).saveAndFlush(any(Subject.class));
     }
 
     @Test
     void createSubject_NameAlreadyExists_ThrowsException() {
         // Given
-        when(subjectRepository.existsByName(subjectRequest.getName())).thenReturn(true);
+        when(subjectRepository.saveAndFlush(any(Subject.class)))
+                .thenThrow(new DuplicateKeyException("Duplicate entry 'Mathematics' for key 'subjects.uk_subjects_name'"));
 
         // When & Then
         ResourceAlreadyExistsException exception = assertThrows(
@@ -84,8 +115,33 @@ class SubjectServiceImplTest {
         );
 
         assertTrue(exception.getMessage().contains("already exists"));
-        verify(subjectRepository).existsByName(subjectRequest.getName());
-        verify(subjectRepository, never()).save(any(Subject.class));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void createSubject_OtherIntegrityViolation_IsNotReportedAsDuplicate() {
+        // Given
+        DataIntegrityViolationException tooLong = new DataIntegrityViolationException("Data too long for column");
+        when(subjectRepository.saveAndFlush(any(Subject.class))).thenThrow(tooLong);
+
+        // When & Then
+        DataIntegrityViolationException exception = assertThrows(
+                DataIntegrityViolationException.class,
+                () -> subjectService.createSubject(subjectRequest)
+        );
+
+        assertSame(tooLong, exception);
+    }
+
+    @Test
+    void createSubject_KnownName_RejectedByPreCheck() {
+        // Given
+        when(knownKeys.mightHaveSubjectName(subjectRequest.getName())).thenReturn(true);
+        when(subjectRepository.existsByName(subjectRequest.getName())).thenReturn(true);
+
+        // When & Then
+        assertThrows(ResourceAlreadyExistsException.class, () -> subjectService.createSubject(subjectRequest));
+        verify(subjectRepository, never()).saveAndFlush(any(Subject.class));
     }
 
     @Test
@@ -93,7 +149,7 @@ class SubjectServiceImplTest {
         // Given
         Long subjectId = 1L;
         when(subjectRepository.findById(subjectId)).thenReturn(Optional.of(subject));
-        when(subjectRepository.save(any(Subject.class))).thenReturn(subject);
+        when(subjectRepository.saveAndFlush(any(Subject.class))).thenReturn(subject);
 
         // When
         SubjectResponse result = subjectService.updateSubject(subjectId, subjectRequest);
@@ -102,7 +158,39 @@ class SubjectServiceImplTest {
         assertNotNull(result);
         assertEquals(subject.getId(), result.getId());
         verify(subjectRepository).findById(subjectId);
-        verify(subjectRepository).save(any(Subject.class));
+        verify(subjectRepository).saveAndFlush(any(Subject.class));
+    }
+
+    @Test
+    void updateSubject_IfMatchStale_ThrowsPreconditionFailed() {
+        // Given
+        Long subjectId = 1L;
+        subject.setVersion(2L);
+        when(subjectRepository.findById(subjectId)).thenReturn(Optional.of(subject));
+
+        // When & Then
+        PreconditionFailedException exception = assertThrows(
+                PreconditionFailedException.class,
+                () -> subjectService.updateSubject(subjectId, subjectRequest, "\"1\"")
+        );
+
+        assertTrue(exception.getMessage().contains("modified"));
+        verify(subjectRepository, never()).saveAndFlush(any(Subject.class));
+    }
+
+    @Test
+    void updateSubject_IfMatchWildcard_Success() {
+        // Given
+        Long subjectId = 1L;
+        subject.setVersion(2L);
+        when(subjectRepository.findById(subjectId)).thenReturn(Optional.of(subject));
+        when(subjectRepository.saveAndFlush(any(Subject.class))).thenReturn(subject);
+
+        // When
+        SubjectResponse result = subjectService.updateSubject(subjectId, subjectRequest, "*");
+
+        // Then
+        assertEquals("\"2\"", EntityTags.of(result));
     }
 
     @Test
@@ -125,24 +213,36 @@ class SubjectServiceImplTest {
     void deleteSubject_Success() {
         // Given
         Long subjectId = 1L;
-        when(subjectRepository.findById(subjectId)).thenReturn(Optional.of(subject));
-        when(subjectRepository.hasStudentsAssigned(subjectId)).thenReturn(false);
+        when(subjectRepository.deleteIfUnassigned(subjectId)).thenReturn(1);
 
         // When
         subjectService.deleteSubject(subjectId);
 
         // Then
-        verify(subjectRepository).findById(subjectId);
-        verify(subjectRepository).hasStudentsAssigned(subjectId);
-        verify(subjectRepository).delete(subject);
+        verify(subjectRepository).deleteIfUnassigned(subjectId);
+        verify(subjectRepository, never()).findById(anyLong());
+        verify(subjectRepository, never()).delete(any(Subject.class));
+        verify(eventPublisher).publishEvent(any(SubjectChangedEvent.class));
+    }
+
+    @Test
+    void deleteSubject_SubjectNotFound_ThrowsException() {
+        // Given
+        Long subjectId = 1L;
+        when(subjectRepository.deleteIfUnassigned(subjectId)).thenReturn(0);
+        when(subjectRepository.findById(subjectId)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> subjectService.deleteSubject(subjectId));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
     void deleteSubject_HasAssignedStudents_ThrowsException() {
         // Given
         Long subjectId = 1L;
+        when(subjectRepository.deleteIfUnassigned(subjectId)).thenReturn(0);
         when(subjectRepository.findById(subjectId)).thenReturn(Optional.of(subject));
-        when(subjectRepository.hasStudentsAssigned(subjectId)).thenReturn(true);
 
         // When &
         BusinessLogicException exception = assertThrows(
@@ -151,8 +251,8 @@ class SubjectServiceImplTest {
         );
         assertTrue(exception.getMessage().contains("Cannot delete subject"));
         verify(subjectRepository).findById(subjectId);
-        verify(subjectRepository).hasStudentsAssigned(subjectId);
         verify(subjectRepository, never()).delete(any(Subject.class));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -185,24 +285,126 @@ class SubjectServiceImplTest {
     @Test
     void getAllSubjects_Success() {
         // Given
-        when(subjectRepository.findAll()).thenReturn(List.of(subject));
+        when(subjectRepository.findAllResponses()).thenReturn(List.of(subjectResponse));
         // When
         List<SubjectResponse> result = subjectService.getAllSubjects();
         // Then
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(subjectRepository).findAll();
+        verify(subjectRepository).findAllResponses();
     }
 
     @Test
     void getAllSubjects_EmptyList() {
         // Given
-        when(subjectRepository.findAll()).thenReturn(List.of());
+        when(subjectRepository.findAllResponses()).thenReturn(List.of());
         // When
         List<SubjectResponse> result = subjectService.getAllSubjects();
         // Then
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(subjectRepository).findAll();
+        verify(subjectRepository).findAllResponses();
+    }
+
+    @Test
+    void getSubjectsPage_LastPage_HasNoNextCursor() {
+        // Given
+        when(subjectRepository.findAllResponses()).thenReturn(List.of(subjectResponse));
+        // When
+        CursorPageResponse<SubjectResponse> result = subjectService.getSubjectsPage(null, 50);
+        // Then
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getSubjectsPage_CutsPagesFromSnapshot() {
+        // Given
+        SubjectResponse second = new SubjectResponse(5L, "Physics", "Basic Physics", 4, null, null);
+        SubjectResponse third = new SubjectResponse(9L, "Chemistry", "Basic Chemistry", 4, null, null);
+        when(subjectRepository.findAllResponses()).thenReturn(List.of(subjectResponse, second, third));
+        // When
+        CursorPageResponse<SubjectResponse> first = subjectService.getSubjectsPage(null, 2);
+        CursorPageResponse<SubjectResponse> last = subjectService.getSubjectsPage(first.getNextCursor(), 2);
+        // Then
+        assertEquals(List.of(1L, 5L), first.getItems().stream().map(SubjectResponse::getId).toList());
+        assertEquals(List.of(9L), last.getItems().stream().map(SubjectResponse::getId).toList());
+        assertNull(last.getNextCursor());
+        verify(subjectRepository, times(1)).findAllResponses();
+    }
+
+    @Test
+    void getSubjectById_SecondCall_ServedFromCache() {
+        // Given
+        when(subjectRepository.findById(1L)).thenReturn(Optional.of(subject));
+        // When
+        subjectService.getSubjectById(1L);
+        SubjectResponse result = subjectService.getSubjectByName("Mathematics");
+        // Then
+        assertEquals(subject.getId(), result.getId());
+        verify(subjectRepository, times(1)).findById(1L);
+        verify(subjectRepository, never()).findByName(anyString());
+    }
+
+    @Test
+    void onSubjectChanged_EvictsCachedEntries() {
+        // Given
+        when(subjectRepository.findById(1L)).thenReturn(Optional.of(subject));
+        subjectService.getSubjectById(1L);
+        when(subjectRepository.saveAndFlush(any(Subject.class))).thenReturn(subject);
+        SubjectResponse updated = subjectService.updateSubject(1L, subjectRequest);
+        // When
+        subjectCache.onSubjectChanged(new SubjectChangedEvent(
+                ChangeType.UPDATED, 1L, "Mathematics", updated));
+        subjectService.getSubjectById(1L);
+        // Then
+        verify(subjectRepository, times(3)).findById(1L);
+        verify(eventPublisher).publishEvent(any(SubjectChangedEvent.class));
+    }
+
+    @Test
+    void getSubjectsPage_InvalidCursor_ThrowsException() {
+        // When & Then
+        assertThrows(BusinessLogicException.class, () -> subjectService.getSubjectsPage("not-a-cursor", 50));
+    }
+
+    @Test
+    void getSubjectStats_CountsFromEnrollmentCounter() {
+        // Given
+        when(subjectRepository.findById(1L)).thenReturn(Optional.of(subject));
+        when(enrollmentCounter.countFor(1L)).thenReturn(25L);
+        // When
+        SubjectStatsResponse result = subjectService.getSubjectStats(1L);
+        // Then
+        assertEquals(25L, result.getEnrollmentCount());
+        assertEquals(75L, result.getTotalCredits());
+        verify(subjectRepository, never()).hasStudentsAssigned(anyLong());
+    }
+
+    @Test
+    void getSubjectStats_AllSubjects_OneCountLookup() {
+        // Given
+        SubjectResponse physics = new SubjectResponse(5L, "Physics", "Basic Physics", 4, null, null);
+        when(subjectRepository.findAllResponses()).thenReturn(List.of(subjectResponse, physics));
+        when(enrollmentCounter.countsFor(List.of(1L, 5L))).thenReturn(Map.of(1L, 2L, 5L, 0L));
+        // When
+        List<SubjectStatsResponse> result = subjectService.getSubjectStats(List.of());
+        // Then
+        assertEquals(2, result.size());
+        assertEquals(2L, result.get(0).getEnrollmentCount());
+        assertEquals(0L, result.get(1).getTotalCredits());
+        verify(enrollmentCounter, times(1)).countsFor(anyCollection());
+    }
+
+    @Test
+    void getSubjectStats_UnknownIds_ThrowsException() {
+        // Given
+        when(subjectRepository.findAllResponses()).thenReturn(List.of(subjectResponse));
+        // When & Then
+        ResourceNotFoundException exception = assertThrows(
+                ResourceNotFoundException.class,
+                () -> subjectService.getSubjectStats(List.of(1L, 7L))
+        );
+        assertTrue(exception.getMessage().contains("[7]"));
     }
 }
@@ -0,0 +1,56 @@
+package com.student.studentmanagementsystem.service;
+
+import com.student.studentmanagementsystem.dto.StudentRequest;
+import com.student.studentmanagementsystem.dto.SubjectRequest;
+import com.student.studentmanagementsystem.exception.ResourceAlreadyExistsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Only duplicates on the named unique constraints become ResourceAlreadyExistsException, on a real schema
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:uniqueness;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+class UniqueConstraintTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private SubjectService subjectService;
+
+    @Test
+    void createStudent_DuplicateEmail_IsAlreadyExists() {
+        // Given
+        studentService.createStudent(new StudentRequest("Unique", "Email", "unique@example.com", "1234567890"));
+
+        // When & Then
+        assertThrows(ResourceAlreadyExistsException.class, () -> studentService.createStudent(
+                new StudentRequest("Other", "Student", "unique@example.com", "1234567890")));
+    }
+
+    @Test
+    void createStudent_EmailTooLongForColumn_IsNotAlreadyExists() {
+        // Given - a valid address of 260 characters, long in the domain since local parts stop at 64
+        String email = "long@" + ("d".repeat(60) + ".").repeat(4) + "example.com";
+
+        // When & Then - the column is varchar(255) and nothing validates the length first
+        assertThrows(DataIntegrityViolationException.class, () -> studentService.createStudent(
+                new StudentRequest("Long", "Email", email, "1234567890")));
+    }
+
+    @Test
+    void createSubject_DuplicateName_IsAlreadyExists() {
+        // Given
+        subjectService.createSubject(new SubjectRequest("Unique subject", "Description", 3));
+
+        // When & Then
+        assertThrows(ResourceAlreadyExistsException.class, () -> subjectService.createSubject(
+                new SubjectRequest("Unique subject", "Description", 3)));
+    }
+}
@@ -0,0 +1,34 @@
+package com.student.studentmanagementsystem.support;
+
+import com.student.studentmanagementsystem.metrics.QueryCounter;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Test helper that fails when a call issues more SQL statements than its budget
+public final class StatementBudget {
+
+    private StatementBudget() {}
+
+    public static <T> T assertAtMost(int maxStatements, Supplier<T> call) {
+        QueryCounter.start(maxStatements);
+        T result;
+        try {
+            result = call.get();
+        } finally {
+            QueryCounter.Counts counts = QueryCounter.stop();
+            if (counts.isOverBudget()) {
+                fail("Expected at most " + maxStatements + " SQL statements but " + counts.getStatements()
+                        + " were issued, the first one over budget was issued here:", counts.getOverBudgetCallSite());
+            }
+        }
+        return result;
+    }
+
+    public static void assertAtMost(int maxStatements, Runnable call) {
+        assertAtMost(maxStatements, () -> {
+            call.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,115 @@
+package com.student.studentmanagementsystem.web;
+
+import com.student.studentmanagementsystem.exception.ServiceUnavailableException;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseConcurrencyLimiterTest {
+
+    private DatabaseConcurrencyLimiter limiter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new DatabaseConcurrencyLimiter(2, 100);
+        request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void streamingHandler_KeepsPermitUntilAsyncCompletes() throws Exception {
+        // Given
+        HandlerMethod handler = handler("export");
+        limiter.preHandle(request, response, handler);
+        MockAsyncContext asyncContext = (MockAsyncContext) request.startAsync();
+
+        // When
+        limiter.afterConcurrentHandlingStarted(request, response, handler);
+
+        // Then
+        assertEquals(1, limiter.availablePermits());
+        asyncContext.complete();
+        assertEquals(2, limiter.availablePermits());
+    }
+
+    @Test
+    void streamingHandler_AsyncDispatchAndCompletion_ReleaseOnce() throws Exception {
+        // Given
+        HandlerMethod handler = handler("export");
+        limiter.preHandle(request, response, handler);
+        MockAsyncContext asyncContext = (MockAsyncContext) request.startAsync();
+        limiter.afterConcurrentHandlingStarted(request, response, handler);
+
+        // When
+        request.setDispatcherType(DispatcherType.ASYNC);
+        limiter.preHandle(request, response, handler);
+        limiter.afterCompletion(request, response, handler, null);
+        asyncContext.complete();
+
+        // Then
+        assertEquals(2, limiter.availablePermits());
+    }
+
+    @Test
+    void emitterHandler_ReleasesPermitWhenAsyncStarts() throws Exception {
+        // Given
+        HandlerMethod handler = handler("stream");
+        limiter.preHandle(request, response, handler);
+        request.startAsync();
+
+        // When
+        limiter.afterConcurrentHandlingStarted(request, response, handler);
+
+        // Then
+        assertEquals(2, limiter.availablePermits());
+    }
+
+    @Test
+    void inMemoryHandler_PassesWithoutPermit() throws Exception {
+        // Given - every permit is taken
+        HandlerMethod databaseHandler = handler("export");
+        limiter.preHandle(new MockHttpServletRequest(), response, databaseHandler);
+        limiter.preHandle(new MockHttpServletRequest(), response, databaseHandler);
+
+        // When
+        boolean proceed = limiter.preHandle(request, response, handler("cached"));
+        limiter.afterCompletion(request, response, handler("cached"), null);
+
+        // Then
+        assertTrue(proceed);
+        assertEquals(0, limiter.availablePermits());
+        assertThrows(ServiceUnavailableException.class,
+                () -> limiter.preHandle(new MockHttpServletRequest(), response, databaseHandler));
+    }
+
+    private HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new Handlers(), Handlers.class.getMethod(name));
+    }
+
+    public static class Handlers {
+
+        public StreamingResponseBody export() {
+            return outputStream -> {};
+        }
+
+        public SseEmitter stream() {
+            return new SseEmitter();
+        }
+
+        @InMemoryRead
+        public String cached() {
+            return "cached";
+        }
+    }
+}